@@ -0,0 +1,38 @@
+package com.test.backend.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.test.backend.domain.model.ProductDetail;
+import com.test.backend.infrastructure.dto.ProductResponse;
+
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static ProductDetail product(int id) {
+        return ProductDetail.builder()
+                .id(String.valueOf(id))
+                .name("Product " + id)
+                .price(BigDecimal.valueOf(1999 + id, 2))
+                .availability(id % 5 != 0)
+                .build();
+    }
+
+    static List<ProductDetail> products(int size) {
+        return IntStream.rangeClosed(1, size).mapToObj(BenchmarkFixtures::product).toList();
+    }
+
+    static List<ProductResponse> responses(int size) {
+        return IntStream.rangeClosed(1, size)
+                .mapToObj(id -> new ProductResponse(String.valueOf(id), "Product " + id,
+                        BigDecimal.valueOf(1999 + id, 2), id % 5 != 0))
+                .toList();
+    }
+
+    static List<String> ids(int size) {
+        return IntStream.rangeClosed(1, size).mapToObj(String::valueOf).toList();
+    }
+}
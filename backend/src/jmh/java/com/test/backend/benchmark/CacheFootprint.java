@@ -0,0 +1,61 @@
+package com.test.backend.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import com.test.backend.domain.model.ProductDetail;
+import com.test.backend.infrastructure.cache.compact.CompactIdList;
+import com.test.backend.infrastructure.cache.compact.CompactProductDetail;
+
+// Retained bytes per cached value, measured with JOL over a whole population so that shared
+// objects (interned names) are counted once. Keys and the Caffeine node are the same for both
+// representations and are left out.
+//   ./mvnw -Pbenchmark test-compile exec:exec -Dexec.executable="$JAVA_HOME/bin/java" -Dexec.classpathScope=test \
+//       -Dexec.args="-Djdk.attach.allowAttachSelf -XX:+EnableDynamicAgentLoading -Djol.magicFieldOffset=true \
+//       -cp %classpath com.test.backend.benchmark.CacheFootprint"
+public final class CacheFootprint {
+
+    private static final int ENTRIES = 100_000;
+    private static final int DISTINCT_NAMES = 500;
+
+    private CacheFootprint() {
+    }
+
+    public static void main(String[] args) {
+        List<ProductDetail> uniqueNames = IntStream.range(0, ENTRIES)
+                .mapToObj(id -> product(id, "Product " + id))
+                .toList();
+        List<ProductDetail> repeatedNames = IntStream.range(0, ENTRIES)
+                .mapToObj(id -> product(id, "Product " + id % DISTINCT_NAMES))
+                .toList();
+        List<List<String>> similarIds = IntStream.range(0, ENTRIES)
+                .mapToObj(id -> IntStream.range(id, id + 5).mapToObj(String::valueOf).toList())
+                .toList();
+
+        report("ProductDetail, unique names", uniqueNames.toArray(),
+                uniqueNames.stream().map(CompactProductDetail::of).toArray());
+        report("ProductDetail, " + DISTINCT_NAMES + " distinct names", repeatedNames.toArray(),
+                repeatedNames.stream().map(CompactProductDetail::of).toArray());
+        report("Similar IDs, 5 per list", similarIds.toArray(),
+                similarIds.stream().map(CompactIdList::of).toArray());
+    }
+
+    // Built the way the JSON decoder does it, with new strings for every field
+    private static ProductDetail product(int id, String name) {
+        return new ProductDetail(new String(String.valueOf(id)), new String(name),
+                new BigDecimal(String.valueOf(1999 + id % 10_000)).movePointLeft(2), id % 5 != 0);
+    }
+
+    private static void report(String label, Object[] before, Object[] after) {
+        System.out.printf("%-40s %6.1f -> %6.1f bytes per entry%n", label,
+                (double) graphSize(before) / before.length, (double) graphSize(after) / after.length);
+    }
+
+    // Every value is a root, so the array holding the population is not counted
+    private static long graphSize(Object[] values) {
+        return GraphLayout.parseInstance(values).totalSize();
+    }
+}
@@ -0,0 +1,83 @@
+package com.test.backend.benchmark;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.backend.domain.model.ProductDetail;
+import com.test.backend.infrastructure.cache.CacheEntry;
+import com.test.backend.infrastructure.cache.ReactiveCache;
+import com.test.backend.infrastructure.cache.ReactiveCacheFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+// Hit-path lookups on a warm cache, run with -t <threads> to see contention. The three variants
+// peel off one layer at a time: the reactive wrapper the clients use, the Spring cache view
+// registered in CaffeineCacheManager and the bare Caffeine future lookup.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheLookupBenchmark {
+
+    private static final String CACHE_NAME = "productDetails";
+
+    @Param({ "1000" })
+    private int entries;
+
+    private ReactiveCache<ProductDetail> reactiveCache;
+    private Cache springCache;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        ReactiveCacheFactory factory = new ReactiveCacheFactory(
+                () -> Caffeine.newBuilder().maximumSize(entries * 2L).recordStats(),
+                cacheManager, new SimpleMeterRegistry());
+        reactiveCache = factory.create(CACHE_NAME, id -> Mono.just(BenchmarkFixtures.product(Integer.parseInt(id))));
+        springCache = cacheManager.getCache(CACHE_NAME);
+
+        keys = BenchmarkFixtures.ids(entries).toArray(String[]::new);
+        for (String key : keys) {
+            reactiveCache.get(key).block();
+        }
+    }
+
+    @Benchmark
+    public ProductDetail reactiveCacheHit() {
+        return reactiveCache.get(randomKey()).block();
+    }
+
+    @Benchmark
+    public Object cacheManagerHit() {
+        return springCache.retrieve(randomKey()).join();
+    }
+
+    @Benchmark
+    public CompletableFuture<CacheEntry<ProductDetail>> nativeHit() {
+        return reactiveCache.getNativeCache().getIfPresent(randomKey());
+    }
+
+    private String randomKey() {
+        return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+    }
+}
@@ -0,0 +1,110 @@
+package com.test.backend.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.backend.infrastructure.cache.CacheEntryExpiry;
+import com.test.backend.infrastructure.cache.ReactiveCache;
+import com.test.backend.infrastructure.cache.ReactiveCacheFactory;
+import com.test.backend.infrastructure.cache.compact.CompactProductDetail;
+import com.test.backend.infrastructure.cache.snapshot.CacheSnapshotter;
+import com.test.backend.infrastructure.cache.snapshot.CompactProductDetailCodec;
+import com.test.backend.infrastructure.cache.snapshot.StringListCodec;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+// Time to write and to restore a snapshot of both caches as the number of entries grows,
+// which is what a restart adds to the time before readiness. Every similar-IDs entry holds
+// five IDs. Restores go into fresh caches so that every key is actually inserted.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CacheSnapshotBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    private int entries;
+
+    private Path directory;
+    private Path snapshot;
+    private CacheSnapshotter source;
+    private CacheSnapshotter target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("cache-snapshot-benchmark");
+        snapshot = directory.resolve("cache.snapshot");
+
+        ReactiveCacheFactory factory = factory();
+        ReactiveCache<CompactProductDetail> products = factory.create("productDetails",
+                id -> Mono.just(CompactProductDetail.of(BenchmarkFixtures.product(Integer.parseInt(id)))),
+                new CompactProductDetailCodec());
+        ReactiveCache<List<String>> similarIds = factory.create("similarIds",
+                id -> Mono.just(BenchmarkFixtures.ids(5)), new StringListCodec());
+        for (String id : BenchmarkFixtures.ids(entries)) {
+            products.get(id).block();
+            similarIds.get(id).block();
+        }
+        source = snapshotter(factory);
+        source.save();
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyCaches() {
+        ReactiveCacheFactory factory = factory();
+        factory.create("productDetails", id -> Mono.<CompactProductDetail>empty(), new CompactProductDetailCodec());
+        factory.create("similarIds", id -> Mono.<List<String>>empty(), new StringListCodec());
+        target = snapshotter(factory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshot);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public int save() {
+        return source.save();
+    }
+
+    @Benchmark
+    public int load() {
+        return target.load();
+    }
+
+    private ReactiveCacheFactory factory() {
+        return new ReactiveCacheFactory(() -> Caffeine.newBuilder()
+                .maximumSize(entries * 2L)
+                .expireAfter(new CacheEntryExpiry(Duration.ofMinutes(10), Duration.ofMinutes(1))),
+                new CaffeineCacheManager(), new SimpleMeterRegistry());
+    }
+
+    private CacheSnapshotter snapshotter(ReactiveCacheFactory factory) {
+        return new CacheSnapshotter(factory, snapshot, Duration.ZERO, Clock.systemUTC(), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,76 @@
+package com.test.backend.benchmark;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.test.backend.application.usecases.GetSimilarProductsUseCaseImpl;
+import com.test.backend.domain.model.SimilarProducts;
+import com.test.backend.domain.model.StreamedProduct;
+import com.test.backend.domain.port.input.GetSimilarProductsUseCase;
+import com.test.backend.domain.port.output.ProductPort;
+import com.test.backend.domain.port.output.SimilarIdsPort;
+
+import reactor.core.publisher.Mono;
+
+// The use case against in-memory ports. With latencyMicros = 0 it measures the pure pipeline
+// overhead of the fan-out; a positive latency adds a timer-driven delay per port call, so the
+// score reflects scheduling costs rather than CPU work.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetSimilarProductsBenchmark {
+
+    @Param({ "5", "20" })
+    private int fanOut;
+
+    @Param({ "0", "1000" })
+    private long latencyMicros;
+
+    @Param({ "0s", "2s" })
+    private String latencyBudget;
+
+    private GetSimilarProductsUseCase useCase;
+
+    @Setup
+    public void setUp() {
+        Duration latency = Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+        List<String> similarIds = BenchmarkFixtures.ids(fanOut);
+
+        SimilarIdsPort similarIdsPort = productId -> delayed(Mono.just(similarIds), latency);
+        ProductPort productPort = productId -> delayed(
+                Mono.just(BenchmarkFixtures.product(Integer.parseInt(productId))), latency);
+
+        useCase = new GetSimilarProductsUseCaseImpl(similarIdsPort, productPort,
+                Duration.parse("PT" + latencyBudget.toUpperCase()));
+    }
+
+    @Benchmark
+    public SimilarProducts execute() {
+        return useCase.execute("0").block();
+    }
+
+    @Benchmark
+    public List<StreamedProduct> stream() {
+        return useCase.stream("0").collectList().block();
+    }
+
+    private static <T> Mono<T> delayed(Mono<T> value, Duration latency) {
+        return latency.isZero() ? value : value.delayElement(latency);
+    }
+}
@@ -0,0 +1,65 @@
+package com.test.backend.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.test.backend.domain.model.ProductDetail;
+import com.test.backend.infrastructure.cache.compact.CompactProductDetail;
+
+// Construction through the builder runs the record's validation on every call, which is what
+// the client does for each product detail it maps.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductDetailBenchmark {
+
+    private String id = "42";
+    private String name = "Leather jacket";
+    private BigDecimal price = new BigDecimal("129.99");
+    private double rawPrice = 129.99;
+    private CompactProductDetail cached = CompactProductDetail.of(new ProductDetail("42", "Leather jacket",
+            new BigDecimal("129.99"), true));
+
+    @Benchmark
+    public ProductDetail constructor() {
+        return new ProductDetail(id, name, price, true);
+    }
+
+    @Benchmark
+    public ProductDetail builder() {
+        return ProductDetail.builder()
+                .id(id)
+                .name(name)
+                .price(price)
+                .availability(true)
+                .build();
+    }
+
+    @Benchmark
+    public ProductDetail builderFromDouble() {
+        return ProductDetail.builder()
+                .id(id)
+                .name(name)
+                .price(rawPrice)
+                .availability(true)
+                .build();
+    }
+
+    @Benchmark
+    public ProductDetail fromCompactCacheValue() {
+        return cached.toProductDetail();
+    }
+}
@@ -0,0 +1,65 @@
+package com.test.backend.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.test.backend.domain.model.ProductDetail;
+import com.test.backend.infrastructure.dto.ProductResponse;
+import com.test.backend.infrastructure.mapper.ProductRestMapper;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductRestMapperBenchmark {
+
+    @Param({ "5", "50" })
+    private int size;
+
+    private ProductDetail product;
+    private ProductResponse response;
+    private List<ProductDetail> products;
+    private List<ProductResponse> responses;
+
+    @Setup
+    public void setUp() {
+        product = BenchmarkFixtures.product(1);
+        response = BenchmarkFixtures.responses(1).get(0);
+        products = BenchmarkFixtures.products(size);
+        responses = BenchmarkFixtures.responses(size);
+    }
+
+    @Benchmark
+    public ProductResponse toProductResponse() {
+        return ProductRestMapper.toProductResponse(product);
+    }
+
+    @Benchmark
+    public ProductDetail toDomainProductDetail() {
+        return ProductRestMapper.toDomainProductDetail(response);
+    }
+
+    @Benchmark
+    public List<ProductResponse> toProductResponseList() {
+        return ProductRestMapper.toProductResponseList(products);
+    }
+
+    @Benchmark
+    public List<ProductDetail> toDomainProductDetailList() {
+        return ProductRestMapper.toDomainProductDetailList(responses);
+    }
+}
@@ -0,0 +1,75 @@
+package com.test.backend.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.test.backend.domain.model.ProductDetail;
+import com.test.backend.infrastructure.dto.ProductResponse;
+import com.test.backend.infrastructure.rest.response.JacksonSimilarProductsJsonWriter;
+import com.test.backend.infrastructure.rest.response.StreamingSimilarProductsJsonWriter;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({ "5", "50" })
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter listWriter;
+    private List<ProductResponse> responses;
+    private List<ProductDetail> products;
+    private JacksonSimilarProductsJsonWriter jacksonWriter;
+    private StreamingSimilarProductsJsonWriter streamingWriter;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, ProductResponse.class));
+        responses = BenchmarkFixtures.responses(size);
+        products = BenchmarkFixtures.products(size);
+        jacksonWriter = new JacksonSimilarProductsJsonWriter(objectMapper);
+        streamingWriter = new StreamingSimilarProductsJsonWriter(objectMapper);
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] typedWriter() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(responses);
+    }
+
+    // From ProductDetail, mapping to ProductResponse included
+    @Benchmark
+    public byte[] jacksonSimilarProductsWriter() {
+        return jacksonWriter.write(products);
+    }
+
+    @Benchmark
+    public byte[] streamingSimilarProductsWriter() {
+        return streamingWriter.write(products);
+    }
+}
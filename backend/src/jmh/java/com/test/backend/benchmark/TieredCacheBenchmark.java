@@ -0,0 +1,120 @@
+package com.test.backend.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.backend.domain.model.ProductDetail;
+import com.test.backend.infrastructure.cache.CacheEntryExpiry;
+import com.test.backend.infrastructure.cache.ReactiveCache;
+import com.test.backend.infrastructure.cache.ReactiveCacheFactory;
+import com.test.backend.infrastructure.cache.compact.CompactProductDetail;
+import com.test.backend.infrastructure.cache.offheap.OffHeapStoreFactory;
+import com.test.backend.infrastructure.cache.snapshot.CompactProductDetailCodec;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+// Uniform lookups over a key space of `entries` products that was fully loaded beforehand.
+// "heap" keeps every entry in Caffeine; "small-heap" keeps only 1% of them and reloads the
+// rest; "tiered" keeps the same 1% on the heap and the rest in the off-heap tier. Run with -prof gc for the allocation rate; the teardown prints the
+// retained heap, the GC work of the trial and the share of lookups answered without a load.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g", "-XX:MaxDirectMemorySize=1g" })
+public class TieredCacheBenchmark {
+
+    @Param({ "1000000" })
+    private int entries;
+
+    @Param({ "heap", "small-heap", "tiered" })
+    private String layout;
+
+    private final LongAdder lookups = new LongAdder();
+    private final AtomicLong downstreamLoads = new AtomicLong();
+    private ReactiveCache<CompactProductDetail> cache;
+    private String[] keys;
+    private long gcCountAtStart;
+    private long gcMillisAtStart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean tiered = layout.equals("tiered");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OffHeapStoreFactory offHeap = tiered
+                ? new OffHeapStoreFactory(256L * 1024 * 1024, Duration.ofHours(1), Duration.ofMinutes(1), meterRegistry)
+                : null;
+        long heapEntries = layout.equals("heap") ? entries : entries / 100;
+        ReactiveCacheFactory factory = new ReactiveCacheFactory(() -> Caffeine.newBuilder()
+                .maximumSize(heapEntries)
+                .expireAfter(new CacheEntryExpiry(Duration.ofHours(1), Duration.ofMinutes(1)))
+                .executor(Runnable::run), new CaffeineCacheManager(), meterRegistry, offHeap);
+        cache = factory.create("productDetails", id -> {
+            downstreamLoads.incrementAndGet();
+            return Mono.just(CompactProductDetail.of(BenchmarkFixtures.product(Integer.parseInt(id))));
+        }, new CompactProductDetailCodec());
+
+        keys = BenchmarkFixtures.ids(entries).toArray(String[]::new);
+        for (String key : keys) {
+            cache.get(key).block();
+        }
+        cache.getNativeCache().synchronous().cleanUp();
+        downstreamLoads.set(0);
+        gcCountAtStart = gcCount();
+        gcMillisAtStart = gcMillis();
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        long total = lookups.sum();
+        System.gc();
+        long retainedMb = (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / (1024 * 1024);
+        System.out.printf("%n[%s] lookups=%d downstream=%d hitRatio=%.4f offHeapEntries=%d offHeapBytes=%d "
+                + "retainedHeapMb=%d gcCount=%d gcMillis=%d%n",
+                layout, total, downstreamLoads.get(), 1 - (double) downstreamLoads.get() / total,
+                cache.getOffHeap() == null ? 0 : cache.getOffHeap().size(),
+                cache.getOffHeap() == null ? 0 : cache.getOffHeap().usedBytes(),
+                retainedMb, gcCount() - gcCountAtStart, gcMillis() - gcMillisAtStart);
+    }
+
+    @Benchmark
+    public ProductDetail lookup() {
+        lookups.increment();
+        return cache.get(keys[ThreadLocalRandom.current().nextInt(keys.length)])
+                .map(CompactProductDetail::toProductDetail)
+                .block();
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+}
@@ -0,0 +1,139 @@
+package com.test.backend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.test.backend.BackendApplication;
+
+// Self-contained replacement for the k6 + docker-compose load test: starts the service on a
+// random port against MockProfileServer and runs the k6 scenarios one after another with a
+// constant arrival rate. Options (all optional):
+//   --rate=200           requests per second for each scenario
+//   --duration=10s       length of each scenario
+//   --warmup=5s          unmeasured run of the normal scenario before the others
+//   --scenarios=a,b      subset of normal,notFound,error,slow,verySlow
+//   --mocks=path         mock profile, ../shared/simulado/mocks.json by default
+public class LoadTestHarness {
+
+    private static final Map<String, String> SCENARIOS = new LinkedHashMap<>();
+
+    static {
+        SCENARIOS.put("normal", "/product/1/similar");
+        SCENARIOS.put("notFound", "/product/4/similar");
+        SCENARIOS.put("error", "/product/5/similar");
+        SCENARIOS.put("slow", "/product/2/similar");
+        SCENARIOS.put("verySlow", "/product/3/similar");
+    }
+
+    private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+    public static void main(String[] args) throws Exception {
+        // devtools is on the test classpath and would restart the service in another class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> options = parseOptions(args);
+        int rate = Integer.parseInt(options.getOrDefault("rate", "200"));
+        Duration duration = parseDuration(options.getOrDefault("duration", "10s"));
+        Duration warmup = parseDuration(options.getOrDefault("warmup", "5s"));
+        List<String> scenarios = List.of(options.getOrDefault("scenarios", String.join(",", SCENARIOS.keySet()))
+                .split(","));
+        Path mocks = Path.of(options.getOrDefault("mocks", "../shared/simulado/mocks.json"));
+
+        try (MockProfileServer downstream = new MockProfileServer(mocks);
+                ConfigurableApplicationContext context = startService(downstream.baseUrl());
+                HttpClient httpClient = HttpClient.newBuilder()
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            OpenModelLoadGenerator generator = new OpenModelLoadGenerator(httpClient, Duration.ofSeconds(90));
+            System.out.printf("Service on port %d, %d mocks replayed from %s%n", port, downstream.mockCount(), mocks);
+
+            if (warmup.isPositive()) {
+                System.out.printf("Warming up with normal scenario for %s%n", warmup);
+                generator.run("warmup", uri(port, SCENARIOS.get("normal")), rate, warmup);
+            }
+
+            for (String scenario : scenarios) {
+                String path = SCENARIOS.get(scenario);
+                if (path == null) {
+                    throw new IllegalArgumentException("Unknown scenario: " + scenario + ", expected one of "
+                            + SCENARIOS.keySet());
+                }
+                System.out.printf("Running %s (%s) at %d req/s for %s%n", scenario, path, rate, duration);
+                print(generator.run(scenario, uri(port, path), rate, duration));
+            }
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startService(String downstreamUrl) {
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .run("--server.port=0",
+                        "--api.product.base-url=" + downstreamUrl,
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.test.backend=OFF",
+                        "--logging.level.io.github.resilience4j=WARN");
+    }
+
+    private static void print(OpenModelLoadGenerator.ScenarioResult result) {
+        System.out.printf("%n== %s %s: %d requests at %d req/s in %.1fs, max send lag %d ms%n",
+                result.scenario(), result.path(), result.requests(), result.ratePerSecond(),
+                result.elapsed().toMillis() / 1000.0, result.maxSendLag().toMillis());
+        System.out.printf("   outcomes: %s%n", result.outcomes());
+        System.out.printf("   %-28s%s%n", "", header());
+        System.out.printf("   %-28s%s%n", "response time (CO-corrected)", row(result.responseTimes()));
+        System.out.printf("   %-28s%s%n%n", "service time", row(result.serviceTimes()));
+    }
+
+    private static String header() {
+        StringBuilder header = new StringBuilder();
+        for (double percentile : PERCENTILES) {
+            header.append(String.format("%10s", "p" + (percentile % 1 == 0 ? String.valueOf((int) percentile)
+                    : String.valueOf(percentile))));
+        }
+        return header.append(String.format("%10s", "max")).toString();
+    }
+
+    private static String row(Histogram histogram) {
+        StringBuilder row = new StringBuilder();
+        for (double percentile : PERCENTILES) {
+            row.append(String.format("%8.1fms", millis(histogram.getValueAtPercentile(percentile))));
+        }
+        return row.append(String.format("%8.1fms", millis(histogram.getMaxValue()))).toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static URI uri(int port, String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static Duration parseDuration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,75 @@
+package com.test.backend.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+// In-process replacement for the simulado container: replays the path, status, body, headers
+// and delay of every entry in shared/simulado/mocks.json. Unknown paths answer 404 like simulado.
+class MockProfileServer implements AutoCloseable {
+
+    private final Map<String, MockResponse> responses = new HashMap<>();
+    private final DisposableServer server;
+
+    MockProfileServer(Path mocksFile) throws IOException {
+        List<MockResponse> mocks = new ObjectMapper().readValue(Files.readAllBytes(mocksFile),
+                new TypeReference<List<MockResponse>>() {
+                });
+        mocks.forEach(mock -> responses.put(mock.path(), mock));
+
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> {
+                    MockResponse mock = responses.get(request.path().startsWith("/")
+                            ? request.path()
+                            : "/" + request.path());
+                    if (mock == null) {
+                        return response.status(HttpResponseStatus.NOT_FOUND).send();
+                    }
+                    mock.headers().forEach(response::header);
+                    return response.status(mock.status())
+                            .sendString(Mono.just(mock.body()).delayElement(mock.delayDuration()));
+                })
+                .bindNow();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    int mockCount() {
+        return responses.size();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    record MockResponse(String path, String body, Integer status, Map<String, String> headers, Long delay) {
+
+        MockResponse {
+            body = body == null ? "" : body;
+            status = status == null ? 200 : status;
+            headers = headers == null ? Map.of() : headers;
+            delay = delay == null ? 0L : delay;
+        }
+
+        Duration delayDuration() {
+            return Duration.ofMillis(delay);
+        }
+    }
+}
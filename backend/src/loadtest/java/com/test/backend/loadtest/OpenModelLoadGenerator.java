@@ -0,0 +1,85 @@
+package com.test.backend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+// Constant arrival rate generator. Request i is due at start + i / rate whether or not earlier
+// requests have answered, so a slow server cannot slow the generator down and hide its own
+// queueing. Response time is measured from that intended start, which is the coordinated
+// omission correction; service time, measured from the moment the request was actually sent,
+// is reported next to it to show how much of the latency was spent waiting to be sent.
+class OpenModelLoadGenerator {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+
+    OpenModelLoadGenerator(HttpClient httpClient, Duration requestTimeout) {
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+    }
+
+    ScenarioResult run(String scenario, URI uri, int ratePerSecond, Duration duration) {
+        Recorder responseTimes = new Recorder(MAX_TRACKABLE_NANOS, 3);
+        Recorder serviceTimes = new Recorder(MAX_TRACKABLE_NANOS, 3);
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(requestTimeout).GET().build();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long totalRequests = duration.toNanos() / intervalNanos;
+        long start = System.nanoTime();
+        long maxLagNanos = 0;
+        CompletableFuture<?>[] inFlight = new CompletableFuture<?>[(int) totalRequests];
+
+        for (int i = 0; i < totalRequests; i++) {
+            long intended = start + i * intervalNanos;
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                LockSupport.parkNanos(intended - now);
+            }
+            maxLagNanos = Math.max(maxLagNanos, now - intended);
+
+            long sent = now;
+            inFlight[i] = httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        long end = System.nanoTime();
+                        responseTimes.recordValue(Math.min(end - intended, MAX_TRACKABLE_NANOS));
+                        serviceTimes.recordValue(Math.min(end - sent, MAX_TRACKABLE_NANOS));
+                        String outcome = error != null
+                                ? error.getClass().getSimpleName()
+                                : String.valueOf(response.statusCode());
+                        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+                        return null;
+                    });
+        }
+
+        CompletableFuture.allOf(inFlight).join();
+        long elapsed = System.nanoTime() - start;
+
+        return new ScenarioResult(scenario, uri.getPath(), ratePerSecond, totalRequests,
+                Duration.ofNanos(elapsed), Duration.ofNanos(maxLagNanos),
+                responseTimes.getIntervalHistogram(), serviceTimes.getIntervalHistogram(),
+                outcomes.entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum(),
+                                (a, b) -> a, TreeMap::new)));
+    }
+
+    record ScenarioResult(String scenario, String path, int ratePerSecond, long requests, Duration elapsed,
+            Duration maxSendLag, Histogram responseTimes, Histogram serviceTimes, Map<String, Long> outcomes) {
+    }
+}
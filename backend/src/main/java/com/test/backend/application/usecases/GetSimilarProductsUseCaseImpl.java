@@ -1,58 +1,271 @@
 package com.test.backend.application.usecases;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.test.backend.domain.exception.ProductNotFoundException;
 import com.test.backend.domain.model.ProductDetail;
+import com.test.backend.domain.model.SimilarProducts;
+import com.test.backend.domain.model.StreamedProduct;
 import com.test.backend.domain.port.input.GetSimilarProductsUseCase;
 import com.test.backend.domain.port.output.ProductPort;
 import com.test.backend.domain.port.output.SimilarIdsPort;
+import com.test.backend.domain.port.output.SimilarProductsMetricsPort;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 public class GetSimilarProductsUseCaseImpl implements GetSimilarProductsUseCase {
 
     private final Logger log = LoggerFactory.getLogger(getClass());
     private final SimilarIdsPort similarIdsPort;
     private final ProductPort productPort;
+    private final Duration latencyBudget;
+    private final SimilarProductsMetricsPort metrics;
 
     public GetSimilarProductsUseCaseImpl(SimilarIdsPort similarIdsPort, ProductPort productPort) {
+        this(similarIdsPort, productPort, Duration.ZERO);
+    }
+
+    public GetSimilarProductsUseCaseImpl(SimilarIdsPort similarIdsPort, ProductPort productPort,
+            Duration latencyBudget) {
+        this(similarIdsPort, productPort, latencyBudget, SimilarProductsMetricsPort.NO_OP);
+    }
+
+    // A positive latency budget bounds the whole request: once it runs out the products
+    // that have arrived so far are returned as a partial result. Fetches still in flight
+    // are not cancelled downstream, they complete in the background and fill the cache.
+    // A product whose fetch failed makes the result partial as well; only a confirmed
+    // absence leaves a product out of a complete result.
+    public GetSimilarProductsUseCaseImpl(SimilarIdsPort similarIdsPort, ProductPort productPort,
+            Duration latencyBudget, SimilarProductsMetricsPort metrics) {
         this.similarIdsPort = similarIdsPort;
         this.productPort = productPort;
+        this.latencyBudget = latencyBudget;
+        this.metrics = metrics;
     }
 
     @Override
-    public List<ProductDetail> execute(String productId) {
+    public Mono<SimilarProducts> execute(String productId) {
         log.info("Getting similar products for: {}", productId);
 
-        List<ProductDetail> products = getSimilarProductsReactive(productId)
-                .collectList()
-                .block();
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            Mono<List<String>> similarIds = similarIdsPort.getSimilarProductIds(productId);
+
+            if (!hasLatencyBudget()) {
+                return similarIds.flatMap(ids -> getSimilarProductsReactive(productId, ids, startNanos));
+            }
+            return similarIds
+                    .timeout(latencyBudget)
+                    .flatMap(ids -> getSimilarProductsReactive(productId, ids, startNanos))
+                    .onErrorResume(TimeoutException.class, ex -> {
+                        log.warn("Latency budget of {} exhausted before similar IDs arrived for: {}",
+                                latencyBudget, productId);
+                        return Mono.just(SimilarProducts.partial(List.of()));
+                    });
+        }).doOnNext(result -> {
+            if (result.products().isEmpty()) {
+                log.info("No available similar products found for: {}", productId);
+            }
+        });
+    }
+
+    // Emits available products in similarity order as soon as every better ranked product has
+    // been resolved; only results that arrive ahead of their turn are buffered. With a latency
+    // budget the stream ends when it runs out. A partial marker is sent last if products were
+    // still pending or a product fetch failed.
+    @Override
+    public Flux<StreamedProduct> stream(String productId) {
+        log.info("Streaming similar products for: {}", productId);
+
+        return Flux.defer(() -> {
+            AtomicBoolean finished = new AtomicBoolean();
+            AtomicBoolean failed = new AtomicBoolean();
+            Flux<ProductDetail> products = similarIdsPort.getSimilarProductIds(productId)
+                    .doOnNext(ids -> metrics.recordFanOut(ids.size()))
+                    .flatMapMany(ids -> {
+                        AtomicInteger unavailable = new AtomicInteger();
+                        return Flux.fromIterable(ids)
+                                .flatMapSequential(id -> fetchProduct(id)
+                                        .switchIfEmpty(Mono.<Optional<ProductDetail>>fromRunnable(() -> failed.set(true)))
+                                        .flatMap(Mono::justOrEmpty))
+                                .doOnNext(product -> {
+                                    if (!product.availability()) {
+                                        unavailable.incrementAndGet();
+                                    }
+                                })
+                                .doFinally(signal -> metrics.recordUnavailable(unavailable.get()));
+                    })
+                    .filter(ProductDetail::availability)
+                    .doOnComplete(() -> finished.set(true));
 
-        if (products == null || products.isEmpty()) {
-            log.info("No available similar products found for: {}", productId);
-            return List.of();
+            if (hasLatencyBudget()) {
+                products = products.take(latencyBudget);
+            }
+            return products.map(StreamedProduct::of)
+                    .concatWith(Mono.fromSupplier(() -> {
+                        if (finished.get() && !failed.get()) {
+                            return null;
+                        }
+                        log.warn("Similar products stream for {} ended before every product was resolved", productId);
+                        return StreamedProduct.partialEnd();
+                    }));
+        });
+    }
+
+    // Resolves the similar IDs of every source product first and then fetches each distinct
+    // similar product once for the whole batch. Sources that do not exist are left out of the
+    // result; sources whose similar IDs failed or did not arrive within the latency budget, or
+    // whose products were not all resolved because they failed or ran out of time, are
+    // returned as partial results.
+    @Override
+    public Mono<Map<String, SimilarProducts>> executeBatch(List<String> productIds) {
+        List<String> sources = productIds.stream().distinct().toList();
+        log.info("Getting similar products for a batch of {} products", sources.size());
+
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            Set<String> notFound = ConcurrentHashMap.newKeySet();
+
+            Flux<Tuple2<String, List<String>>> similarIds = Flux.fromIterable(sources)
+                    .flatMap(source -> similarIdsPort.getSimilarProductIds(source)
+                            .map(ids -> Tuples.of(source, ids))
+                            .onErrorResume(ProductNotFoundException.class, ex -> {
+                                notFound.add(source);
+                                return Mono.empty();
+                            })
+                            .onErrorResume(ex -> {
+                                log.warn("Error fetching similar IDs for {}: {}", source, ex.getMessage());
+                                return Mono.empty();
+                            }));
+
+            if (hasLatencyBudget()) {
+                similarIds = similarIds.take(remainingBudget(startNanos));
+            }
+
+            return similarIds.collectMap(Tuple2::getT1, Tuple2::getT2)
+                    .flatMap(idsBySource -> fetchDistinctProducts(idsBySource, startNanos)
+                            .map(products -> assembleBatch(sources, notFound, idsBySource, products)));
+        });
+    }
+
+    private Mono<Map<String, Optional<ProductDetail>>> fetchDistinctProducts(Map<String, List<String>> idsBySource,
+            long startNanos) {
+        List<String> distinctIds = idsBySource.values().stream()
+                .flatMap(List::stream)
+                .distinct()
+                .toList();
+        log.debug("Fetching {} distinct products for the batch", distinctIds.size());
+        metrics.recordFanOut(distinctIds.size());
+
+        Flux<Tuple2<String, Optional<ProductDetail>>> fetched = Flux.fromIterable(distinctIds)
+                .flatMap(id -> fetchProduct(id).map(product -> Tuples.of(id, product)));
+
+        if (hasLatencyBudget()) {
+            fetched = fetched.take(remainingBudget(startNanos));
+        }
+        return fetched.collectMap(Tuple2::getT1, Tuple2::getT2)
+                .doOnNext(products -> metrics.recordUnavailable(countUnavailable(products.values())));
+    }
+
+    private Map<String, SimilarProducts> assembleBatch(List<String> sources, Set<String> notFound,
+            Map<String, List<String>> idsBySource, Map<String, Optional<ProductDetail>> products) {
+        Map<String, SimilarProducts> results = new LinkedHashMap<>();
+        for (String source : sources) {
+            if (notFound.contains(source)) {
+                continue;
+            }
+            List<String> ids = idsBySource.get(source);
+            if (ids == null) {
+                results.put(source, SimilarProducts.partial(List.of()));
+                continue;
+            }
+            List<ProductDetail> available = ids.stream()
+                    .map(products::get)
+                    .filter(Objects::nonNull)
+                    .flatMap(Optional::stream)
+                    .filter(ProductDetail::availability)
+                    .toList();
+            results.put(source, products.keySet().containsAll(ids)
+                    ? SimilarProducts.complete(available)
+                    : SimilarProducts.partial(available));
+        }
+        return results;
+    }
+
+    private Mono<SimilarProducts> getSimilarProductsReactive(String productId, List<String> similarIds,
+            long startNanos) {
+        metrics.recordFanOut(similarIds.size());
+        Flux<Tuple2<Long, Optional<ProductDetail>>> fetched = Flux.fromIterable(similarIds)
+                .index()
+                .flatMap(ranked -> fetchProduct(ranked.getT2())
+                        .map(product -> Tuples.of(ranked.getT1(), product)));
+
+        if (hasLatencyBudget()) {
+            fetched = fetched.take(remainingBudget(startNanos));
         }
 
-        return products;
+        return fetched.collectList()
+                .map(results -> {
+                    metrics.recordUnavailable(countUnavailable(results.stream().map(Tuple2::getT2).toList()));
+                    List<ProductDetail> available = results.stream()
+                            .sorted(Comparator.comparing(Tuple2::getT1))
+                            .map(Tuple2::getT2)
+                            .flatMap(Optional::stream)
+                            .filter(ProductDetail::availability)
+                            .toList();
+
+                    if (results.size() < similarIds.size()) {
+                        log.warn("Only {} of {} similar products resolved for {}", results.size(),
+                                similarIds.size(), productId);
+                        return SimilarProducts.partial(available);
+                    }
+                    return SimilarProducts.complete(available);
+                });
+    }
+
+    // An empty Optional is a confirmed absence; a failed fetch completes without a value so
+    // that it counts as unresolved rather than as a product that does not exist
+    private Mono<Optional<ProductDetail>> fetchProduct(String id) {
+        return productPort.getProductById(id)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(ex -> {
+                    log.warn("Error fetching product {}: {}", id, ex.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private int countUnavailable(Collection<Optional<ProductDetail>> products) {
+        return (int) products.stream()
+                .flatMap(Optional::stream)
+                .filter(product -> !product.availability())
+                .count();
     }
 
-    private Flux<ProductDetail> getSimilarProductsReactive(String productId) {
-        List<String> similarIds = similarIdsPort.getSimilarProductIds(productId);
+    private boolean hasLatencyBudget() {
+        return latencyBudget.isPositive();
+    }
 
-        return Flux.fromIterable(similarIds)
-                .flatMap(id -> Mono.fromCallable(() -> productPort.getProductById(id))
-                        .subscribeOn(reactor.core.scheduler.Schedulers.boundedElastic())
-                        .onErrorResume(ex -> {
-                            log.warn("Error fetching product {}: {}", id, ex.getMessage());
-                            return Mono.just(Optional.empty());
-                        }))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .filter(ProductDetail::availability);
+    private Duration remainingBudget(long startNanos) {
+        Duration remaining = latencyBudget.minusNanos(System.nanoTime() - startNanos);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package com.test.backend.domain.model;
+
+import java.util.List;
+import java.util.Objects;
+
+public record SimilarProducts(
+    List<ProductDetail> products,
+    boolean partial
+) {
+    public SimilarProducts {
+        Objects.requireNonNull(products, "products must not be null");
+    }
+
+    public static SimilarProducts complete(List<ProductDetail> products) {
+        return new SimilarProducts(products, false);
+    }
+
+    public static SimilarProducts partial(List<ProductDetail> products) {
+        return new SimilarProducts(products, true);
+    }
+}
@@ -0,0 +1,20 @@
+package com.test.backend.domain.model;
+
+import java.util.Objects;
+
+// One element of a similar-products stream: an available product, or the trailing marker sent
+// when the stream ends before every similar product could be resolved
+public record StreamedProduct(
+    ProductDetail product,
+    boolean partial
+) {
+    private static final StreamedProduct PARTIAL_END = new StreamedProduct(null, true);
+
+    public static StreamedProduct of(ProductDetail product) {
+        return new StreamedProduct(Objects.requireNonNull(product, "product must not be null"), false);
+    }
+
+    public static StreamedProduct partialEnd() {
+        return PARTIAL_END;
+    }
+}
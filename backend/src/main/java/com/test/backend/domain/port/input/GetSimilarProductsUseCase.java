@@ -1,9 +1,18 @@
 package com.test.backend.domain.port.input;
 
 import java.util.List;
+import java.util.Map;
 
-import com.test.backend.domain.model.ProductDetail;
+import com.test.backend.domain.model.SimilarProducts;
+import com.test.backend.domain.model.StreamedProduct;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface GetSimilarProductsUseCase {
-    List<ProductDetail> execute(String productId);
+    Mono<SimilarProducts> execute(String productId);
+
+    Flux<StreamedProduct> stream(String productId);
+
+    Mono<Map<String, SimilarProducts>> executeBatch(List<String> productIds);
 }
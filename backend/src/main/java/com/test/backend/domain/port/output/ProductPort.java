@@ -1,9 +1,9 @@
 package com.test.backend.domain.port.output;
 
-import java.util.Optional;
-
 import com.test.backend.domain.model.ProductDetail;
 
+import reactor.core.publisher.Mono;
+
 public interface ProductPort {
-    Optional<ProductDetail> getProductById(String productId);
+    Mono<ProductDetail> getProductById(String productId);
 }
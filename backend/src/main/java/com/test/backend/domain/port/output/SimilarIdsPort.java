@@ -2,6 +2,8 @@ package com.test.backend.domain.port.output;
 
 import java.util.List;
 
+import reactor.core.publisher.Mono;
+
 public interface SimilarIdsPort {
-    List<String> getSimilarProductIds(String productId);
+    Mono<List<String>> getSimilarProductIds(String productId);
 }
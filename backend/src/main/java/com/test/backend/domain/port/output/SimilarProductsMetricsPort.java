@@ -0,0 +1,13 @@
+package com.test.backend.domain.port.output;
+
+public interface SimilarProductsMetricsPort {
+
+    SimilarProductsMetricsPort NO_OP = new SimilarProductsMetricsPort() {
+    };
+
+    default void recordFanOut(int similarProducts) {
+    }
+
+    default void recordUnavailable(int unavailableProducts) {
+    }
+}
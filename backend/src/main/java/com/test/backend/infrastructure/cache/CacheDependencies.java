@@ -0,0 +1,36 @@
+package com.test.backend.infrastructure.cache;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+// Cache keys read while computing something derived from them. Placed in the Reactor context,
+// it is filled by every ReactiveCache lookup made underneath, from whichever thread resolves it.
+public class CacheDependencies {
+
+    private final Set<String> keys = ConcurrentHashMap.newKeySet();
+
+    public static Optional<CacheDependencies> from(ContextView context) {
+        return context.getOrEmpty(CacheDependencies.class);
+    }
+
+    public static Function<Context, Context> bind(CacheDependencies dependencies) {
+        return context -> context.put(CacheDependencies.class, dependencies);
+    }
+
+    public static String key(String cacheName, String key) {
+        return cacheName + "/" + key;
+    }
+
+    public void add(String cacheName, String key) {
+        keys.add(key(cacheName, key));
+    }
+
+    public Set<String> keys() {
+        return Set.copyOf(keys);
+    }
+}
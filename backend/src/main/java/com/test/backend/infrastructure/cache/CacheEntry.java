@@ -0,0 +1,35 @@
+package com.test.backend.infrastructure.cache;
+
+// expiresAtNanos is set only on entries copied from another tier, which must keep the
+// deadline they already had instead of starting a fresh TTL; it is read against the cache
+// ticker, System.nanoTime() unless a test overrides it. The validators are kept on the heap
+// only: entries restored from another tier are refreshed with a full download.
+public record CacheEntry<V>(V value, long expiresAtNanos, Validators validators) {
+
+    private static final CacheEntry<?> NOT_FOUND = new CacheEntry<>(null, 0, Validators.NONE);
+
+    public static <V> CacheEntry<V> found(V value) {
+        return found(value, Validators.NONE);
+    }
+
+    public static <V> CacheEntry<V> found(V value, Validators validators) {
+        return new CacheEntry<>(value, 0, validators);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> CacheEntry<V> notFound() {
+        return (CacheEntry<V>) NOT_FOUND;
+    }
+
+    public static <V> CacheEntry<V> expiringAt(V value, long expiresAtNanos) {
+        return new CacheEntry<>(value, expiresAtNanos, Validators.NONE);
+    }
+
+    public boolean isNegative() {
+        return value == null;
+    }
+
+    public boolean hasDeadline() {
+        return expiresAtNanos != 0;
+    }
+}
@@ -0,0 +1,38 @@
+package com.test.backend.infrastructure.cache;
+
+import java.time.Duration;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+// Confirmed absences live for their own, usually much shorter, TTL than real values.
+public class CacheEntryExpiry implements Expiry<Object, Object> {
+
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+
+    public CacheEntryExpiry(Duration ttl, Duration negativeTtl) {
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        if (value instanceof CacheEntry<?> entry) {
+            if (entry.hasDeadline()) {
+                return Math.max(0, entry.expiresAtNanos() - currentTime);
+            }
+            return entry.isNegative() ? negativeTtlNanos : ttlNanos;
+        }
+        return ttlNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
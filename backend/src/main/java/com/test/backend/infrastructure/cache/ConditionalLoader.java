@@ -0,0 +1,18 @@
+package com.test.backend.infrastructure.cache;
+
+import java.util.function.Function;
+
+import reactor.core.publisher.Mono;
+
+// Loads a value for the cache, sending the validators of the value already cached, if any, so
+// that an unchanged value costs a 304 instead of a full download. Completes empty for a
+// confirmed absence and with Validated.unchanged() only when validators were given.
+@FunctionalInterface
+public interface ConditionalLoader<V> {
+
+    Mono<Validated<V>> load(String key, Validators validators);
+
+    static <V> ConditionalLoader<V> unconditional(Function<String, Mono<V>> loader) {
+        return (key, validators) -> loader.apply(key).map(value -> Validated.of(value, Validators.NONE));
+    }
+}
@@ -0,0 +1,6 @@
+package com.test.backend.infrastructure.cache;
+
+import java.time.Duration;
+
+public record ExpiringEntry<V>(String key, CacheEntry<V> entry, Duration timeToLive) {
+}
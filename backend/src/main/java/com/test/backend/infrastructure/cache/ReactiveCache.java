@@ -0,0 +1,229 @@
+package com.test.backend.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.backend.infrastructure.cache.offheap.OffHeapStore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+public class ReactiveCache<V> {
+
+    private final String name;
+    private final AsyncLoadingCache<String, CacheEntry<V>> cache;
+    private final ConditionalLoader<V> loader;
+    private final OffHeapStore<V> offHeap;
+    private final Counter leaderCalls;
+    private final Counter mergedCalls;
+    private final Counter negativeHits;
+    private final Counter negativePuts;
+    private final Counter notModified;
+    private final Counter modified;
+
+    // The loader reports a confirmed absence (e.g. a 404) by completing empty, which is cached
+    // as a negative entry. A transient failure must be signalled as an error: failed loads are
+    // dropped by Caffeine and a failed refresh keeps the previous value.
+    public ReactiveCache(String name, Caffeine<Object, Object> caffeine, Function<String, Mono<V>> loader,
+            MeterRegistry meterRegistry) {
+        this(name, caffeine, loader, null, meterRegistry);
+    }
+
+    // With an off-heap tier, an on-heap miss is answered from it before going downstream and
+    // every downstream result is written to it. Refreshes skip it: they exist to fetch a newer
+    // value than the one both tiers hold.
+    public ReactiveCache(String name, Caffeine<Object, Object> caffeine, Function<String, Mono<V>> loader,
+            OffHeapStore<V> offHeap, MeterRegistry meterRegistry) {
+        this(name, caffeine, ConditionalLoader.unconditional(loader), offHeap, meterRegistry);
+    }
+
+    // A refresh sends the validators of the current value; when the downstream confirms it is
+    // unchanged the same entry instance is kept with a fresh lifetime and nothing is parsed.
+    public ReactiveCache(String name, Caffeine<Object, Object> caffeine, ConditionalLoader<V> loader,
+            OffHeapStore<V> offHeap, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.loader = loader;
+        this.offHeap = offHeap;
+        this.cache = caffeine.buildAsync(new AsyncCacheLoader<String, CacheEntry<V>>() {
+            @Override
+            public CompletableFuture<? extends CacheEntry<V>> asyncLoad(String key, Executor executor) {
+                return loadThroughOffHeap(key).toFuture();
+            }
+
+            @Override
+            public CompletableFuture<? extends CacheEntry<V>> asyncReload(String key, CacheEntry<V> oldValue,
+                    Executor executor) {
+                return load(key, oldValue).toFuture();
+            }
+        });
+        this.leaderCalls = singleFlightCounter(meterRegistry, "leader");
+        this.mergedCalls = singleFlightCounter(meterRegistry, "merged");
+        this.negativeHits = Counter.builder("cache.negative.hits")
+                .description("Lookups answered by a cached confirmed absence instead of a downstream call")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.negativePuts = Counter.builder("cache.negative.puts")
+                .description("Confirmed absences stored in the cache")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.notModified = revalidationCounter(meterRegistry, "not-modified");
+        this.modified = revalidationCounter(meterRegistry, "modified");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public AsyncLoadingCache<String, CacheEntry<V>> getNativeCache() {
+        return cache;
+    }
+
+    public OffHeapStore<V> getOffHeap() {
+        return offHeap;
+    }
+
+    // True when a lookup would be answered from memory: a completed value or confirmed absence
+    public boolean isCached(String key) {
+        CompletableFuture<CacheEntry<V>> future = cache.getIfPresent(key);
+        return future != null && future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    // The pending future is stored in the cache before the downstream call completes, so
+    // concurrent misses for the same key subscribe to it instead of issuing their own call.
+    // The load runs with the context of the caller that started it.
+    public Mono<V> get(String key) {
+        return Mono.deferContextual(context -> {
+            CacheDependencies.from(context).ifPresent(dependencies -> dependencies.add(name, key));
+            boolean[] leader = new boolean[1];
+            CompletableFuture<CacheEntry<V>> future = lookup(key, leader, context);
+            if (!leader[0] && future.isCompletedExceptionally()) {
+                // Caffeine drops failed loads after notifying their callers; make sure a
+                // caller arriving in between retries instead of reusing the failure.
+                cache.asMap().remove(key, future);
+                future = lookup(key, leader, context);
+            }
+
+            if (leader[0]) {
+                leaderCalls.increment();
+            } else if (!future.isDone()) {
+                mergedCalls.increment();
+            }
+
+            return Mono.fromFuture(future, true)
+                    .flatMap(entry -> {
+                        if (entry.isNegative()) {
+                            if (!leader[0]) {
+                                negativeHits.increment();
+                            }
+                            return Mono.empty();
+                        }
+                        return Mono.just(entry.value());
+                    });
+        });
+    }
+
+    // True when the completed entry currently cached for the key is this very instance
+    public boolean holds(String key, Object entry) {
+        CompletableFuture<CacheEntry<V>> future = cache.asMap().get(key);
+        return future != null && future.isDone() && !future.isCompletedExceptionally() && future.join() == entry;
+    }
+
+    public void invalidate(String key) {
+        cache.synchronous().invalidate(key);
+    }
+
+    // Drops the entry only while it still holds this very value, so a newer one loaded meanwhile
+    // survives. Not to be called from the load itself: a load that completes synchronously runs
+    // while the entry is still being inserted.
+    public void discard(String key, V value) {
+        CompletableFuture<CacheEntry<V>> future = cache.asMap().get(key);
+        if (future != null && future.isDone() && !future.isCompletedExceptionally()
+                && future.join().value() == value) {
+            cache.asMap().remove(key, future);
+        }
+    }
+
+    private CompletableFuture<CacheEntry<V>> lookup(String key, boolean[] leader, ContextView context) {
+        return cache.get(key, (k, executor) -> {
+            leader[0] = true;
+            return loadThroughOffHeap(k).contextWrite(context).toFuture();
+        });
+    }
+
+    // Completed entries with the lifetime they have left. Only caches with a per-entry expiry,
+    // which is how CacheConfig builds them, can report it.
+    public List<ExpiringEntry<V>> expiringEntries() {
+        List<ExpiringEntry<V>> entries = new ArrayList<>();
+        cache.synchronous().policy().expireVariably().ifPresent(expiry -> cache.synchronous().asMap()
+                .forEach((key, entry) -> expiry.getExpiresAfter(key, TimeUnit.NANOSECONDS)
+                        .ifPresent(nanos -> entries.add(new ExpiringEntry<>(key, entry, Duration.ofNanos(nanos))))));
+        return entries;
+    }
+
+    // Entries already loaded since startup win over restored ones
+    public boolean restore(String key, CacheEntry<V> entry, Duration timeToLive) {
+        return cache.synchronous().policy().expireVariably()
+                .map(expiry -> expiry.putIfAbsent(key, entry, timeToLive) == null)
+                .orElse(false);
+    }
+
+    private Mono<CacheEntry<V>> loadThroughOffHeap(String key) {
+        if (offHeap == null) {
+            return load(key);
+        }
+        return Mono.fromCallable(() -> offHeap.get(key))
+                .switchIfEmpty(Mono.defer(() -> load(key)));
+    }
+
+    private Mono<CacheEntry<V>> load(String key) {
+        return load(key, null);
+    }
+
+    private Mono<CacheEntry<V>> load(String key, CacheEntry<V> previous) {
+        Validators validators = previous == null ? Validators.NONE : previous.validators();
+        Mono<CacheEntry<V>> entry = loader.load(key, validators)
+                .map(result -> {
+                    if (!validators.isEmpty()) {
+                        (result.notModified() ? notModified : modified).increment();
+                    }
+                    if (!result.notModified()) {
+                        return CacheEntry.found(result.value(), result.validators());
+                    }
+                    if (validators.isEmpty()) {
+                        throw new IllegalStateException("Not modified answer to an unconditional load of " + key);
+                    }
+                    return previous;
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    negativePuts.increment();
+                    return CacheEntry.notFound();
+                }));
+        return offHeap == null ? entry : entry.doOnNext(loaded -> offHeap.put(key, loaded));
+    }
+
+    private Counter revalidationCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.revalidations")
+                .description("Refreshes sent with the validators of the cached value, by downstream answer")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter singleFlightCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.singleflight")
+                .description("Cache misses that started a downstream call (leader) or joined one already in flight (merged)")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
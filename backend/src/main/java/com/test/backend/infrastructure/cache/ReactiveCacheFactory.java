@@ -0,0 +1,109 @@
+package com.test.backend.infrastructure.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.test.backend.infrastructure.cache.offheap.OffHeapStore;
+import com.test.backend.infrastructure.cache.offheap.OffHeapStoreFactory;
+import com.test.backend.infrastructure.cache.snapshot.CacheValueCodec;
+import com.test.backend.infrastructure.cache.snapshot.SnapshotBinding;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+public class ReactiveCacheFactory {
+
+    // Same tags the actuator cache metrics use, so the binding below and the one Spring Boot
+    // makes for caches it finds in the manager resolve to the same meters
+    private static final String CACHE_MANAGER = "cacheManager";
+
+    private final Supplier<Caffeine<Object, Object>> caffeineSpec;
+    private final CaffeineCacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    private final OffHeapStoreFactory offHeapStoreFactory;
+    private final Map<String, SnapshotBinding<?>> snapshotBindings = new ConcurrentHashMap<>();
+    private final Map<String, ReactiveCache<?>> caches = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, String>> changeListeners = new CopyOnWriteArrayList<>();
+
+    public ReactiveCacheFactory(Supplier<Caffeine<Object, Object>> caffeineSpec, CaffeineCacheManager cacheManager,
+            MeterRegistry meterRegistry) {
+        this(caffeineSpec, cacheManager, meterRegistry, null);
+    }
+
+    public ReactiveCacheFactory(Supplier<Caffeine<Object, Object>> caffeineSpec, CaffeineCacheManager cacheManager,
+            MeterRegistry meterRegistry, OffHeapStoreFactory offHeapStoreFactory) {
+        this.caffeineSpec = caffeineSpec;
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.offHeapStoreFactory = offHeapStoreFactory;
+    }
+
+    // The loader is bound to the cache so that refreshAfterWrite can reload hot entries in the
+    // background while readers keep getting the current value.
+    public <V> ReactiveCache<V> create(String name, Function<String, Mono<V>> loader) {
+        return register(new ReactiveCache<>(name, caffeineSpec(name), loader, meterRegistry));
+    }
+
+    // Caches created with a codec are included in the cache snapshots and, when enabled, get an
+    // off-heap tier behind the on-heap one
+    public <V> ReactiveCache<V> create(String name, Function<String, Mono<V>> loader, CacheValueCodec<V> codec) {
+        return createConditional(name, ConditionalLoader.unconditional(loader), codec);
+    }
+
+    // Like create with a codec, for loaders that can revalidate the cached value downstream
+    public <V> ReactiveCache<V> createConditional(String name, ConditionalLoader<V> loader,
+            CacheValueCodec<V> codec) {
+        OffHeapStore<V> offHeap = offHeapStoreFactory == null ? null : offHeapStoreFactory.create(name, codec);
+        ReactiveCache<V> cache = register(new ReactiveCache<>(name, caffeineSpec(name), loader, offHeap,
+                meterRegistry));
+        snapshotBindings.put(name, new SnapshotBinding<>(cache, codec));
+        return cache;
+    }
+
+    public Collection<SnapshotBinding<?>> getSnapshotBindings() {
+        return List.copyOf(snapshotBindings.values());
+    }
+
+    // Called with the cache name and key whenever an entry of any cache created here is replaced,
+    // expires, is evicted or is invalidated, after the fact and off the caller's thread. An entry
+    // replaced by itself, as a revalidated refresh does, has not changed.
+    public void addChangeListener(BiConsumer<String, String> listener) {
+        changeListeners.add(listener);
+    }
+
+    private Caffeine<Object, Object> caffeineSpec(String name) {
+        return caffeineSpec.get().removalListener((key, value, cause) -> {
+            if (cause == RemovalCause.REPLACED && caches.get(name).holds((String) key, value)) {
+                return;
+            }
+            changeListeners.forEach(listener -> listener.accept(name, (String) key));
+        });
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private <V> ReactiveCache<V> register(ReactiveCache<V> cache) {
+        String name = cache.getName();
+        caches.put(name, cache);
+        cacheManager.registerCustomCache(name, (AsyncCache) cache.getNativeCache());
+        // Bound here rather than left to the actuator, which only sees the caches registered
+        // by the time it inspects the manager
+        if (cache.getNativeCache().synchronous().policy().isRecordingStats()) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache.getNativeCache(), name,
+                    Tags.of("cache.manager", CACHE_MANAGER, "name", name));
+        }
+        return cache;
+    }
+}
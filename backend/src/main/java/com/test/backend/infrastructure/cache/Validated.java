@@ -0,0 +1,23 @@
+package com.test.backend.infrastructure.cache;
+
+import java.util.function.Function;
+
+// Outcome of a conditional load: a new value with its validators, or confirmation that the
+// value the validators were taken from is still current
+public record Validated<V>(V value, Validators validators, boolean notModified) {
+
+    private static final Validated<?> NOT_MODIFIED = new Validated<>(null, Validators.NONE, true);
+
+    public static <V> Validated<V> of(V value, Validators validators) {
+        return new Validated<>(value, validators, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> Validated<V> unchanged() {
+        return (Validated<V>) NOT_MODIFIED;
+    }
+
+    public <R> Validated<R> map(Function<? super V, ? extends R> mapper) {
+        return notModified ? unchanged() : of(mapper.apply(value), validators);
+    }
+}
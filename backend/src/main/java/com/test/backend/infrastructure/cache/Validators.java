@@ -0,0 +1,12 @@
+package com.test.backend.infrastructure.cache;
+
+// HTTP validators the downstream sent with a value, replayed as If-None-Match and
+// If-Modified-Since when the cached value is refreshed
+public record Validators(String etag, String lastModified) {
+
+    public static final Validators NONE = new Validators(null, null);
+
+    public boolean isEmpty() {
+        return etag == null && lastModified == null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.test.backend.infrastructure.cache.compact;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+// Similar-ID lists as cached: when every ID is numeric they are kept as one int[] instead of a
+// String per ID, and the strings are only created when the list is read. Being a List<String>
+// itself, the cached value is handed out as is.
+public final class CompactIdList extends AbstractList<String> implements RandomAccess {
+
+    private final int[] numericIds;
+    private final String[] ids;
+
+    private CompactIdList(int[] numericIds, String[] ids) {
+        this.numericIds = numericIds;
+        this.ids = ids;
+    }
+
+    public static CompactIdList of(List<String> ids) {
+        if (ids instanceof CompactIdList compact) {
+            return compact;
+        }
+        if (ids.stream().allMatch(NumericIds::isPackable)) {
+            return new CompactIdList(ids.stream().mapToInt(Integer::parseInt).toArray(), null);
+        }
+        return new CompactIdList(null, ids.toArray(String[]::new));
+    }
+
+    public boolean isPacked() {
+        return numericIds != null;
+    }
+
+    @Override
+    public String get(int index) {
+        return numericIds != null ? Integer.toString(numericIds[index]) : ids[index];
+    }
+
+    @Override
+    public int size() {
+        return numericIds != null ? numericIds.length : ids.length;
+    }
+}
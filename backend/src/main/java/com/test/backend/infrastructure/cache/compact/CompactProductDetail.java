@@ -0,0 +1,69 @@
+package com.test.backend.infrastructure.cache.compact;
+
+import java.math.BigDecimal;
+
+import com.github.benmanes.caffeine.cache.Interner;
+import com.test.backend.domain.model.ProductDetail;
+
+// ProductDetail as cached: a numeric id is kept as an int, the price as an unscaled long plus
+// its scale and the name is shared with every other cached product of the same name. A price
+// that does not fit, or an id that is not numeric, is kept as is.
+public final class CompactProductDetail {
+
+    private static final Interner<String> NAMES = Interner.newWeakInterner();
+
+    private final int numericId;
+    private final String id;
+    private final String name;
+    private final long unscaledPrice;
+    private final byte priceScale;
+    private final BigDecimal largePrice;
+    private final boolean availability;
+
+    private CompactProductDetail(int numericId, String id, String name, long unscaledPrice, byte priceScale,
+            BigDecimal largePrice, boolean availability) {
+        this.numericId = numericId;
+        this.id = id;
+        this.name = name;
+        this.unscaledPrice = unscaledPrice;
+        this.priceScale = priceScale;
+        this.largePrice = largePrice;
+        this.availability = availability;
+    }
+
+    public static CompactProductDetail of(ProductDetail product) {
+        boolean packedId = NumericIds.isPackable(product.id());
+        BigDecimal price = product.price();
+        boolean packedPrice = price.scale() == (byte) price.scale() && price.unscaledValue().bitLength() < Long.SIZE;
+        return new CompactProductDetail(
+                packedId ? Integer.parseInt(product.id()) : 0,
+                packedId ? null : product.id(),
+                NAMES.intern(product.name()),
+                packedPrice ? price.unscaledValue().longValueExact() : 0,
+                packedPrice ? (byte) price.scale() : 0,
+                packedPrice ? null : price,
+                product.availability());
+    }
+
+    public String id() {
+        return id != null ? id : Integer.toString(numericId);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public BigDecimal price() {
+        return largePrice != null ? largePrice : BigDecimal.valueOf(unscaledPrice, priceScale);
+    }
+
+    public boolean availability() {
+        return availability;
+    }
+
+    // Every value here was built from a validated ProductDetail, so the checks the constructor
+    // repeats cannot fail
+    public ProductDetail toProductDetail() {
+        return new ProductDetail(id(), name, price(), availability);
+    }
+}
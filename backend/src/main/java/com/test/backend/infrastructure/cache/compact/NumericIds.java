@@ -0,0 +1,25 @@
+package com.test.backend.infrastructure.cache.compact;
+
+final class NumericIds {
+
+    private NumericIds() {
+    }
+
+    // True only for IDs that Integer.toString gives back unchanged: no sign, no leading zeros
+    // and within int range, so packing them loses nothing
+    static boolean isPackable(String id) {
+        int length = id.length();
+        if (length == 0 || length > 10 || (length > 1 && id.charAt(0) == '0')) {
+            return false;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value <= Integer.MAX_VALUE;
+    }
+}
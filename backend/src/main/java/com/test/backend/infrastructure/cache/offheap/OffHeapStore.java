@@ -0,0 +1,208 @@
+package com.test.backend.infrastructure.cache.offheap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.test.backend.infrastructure.cache.CacheEntry;
+import com.test.backend.infrastructure.cache.snapshot.CacheValueCodec;
+import com.test.backend.infrastructure.cache.snapshot.SnapshotReader;
+import com.test.backend.infrastructure.cache.snapshot.SnapshotWriter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+// Second cache tier kept outside the heap: entries are serialized with the snapshot codecs
+// into one direct buffer used as a ring log. Writes append at the head and, when the ring is
+// full, the oldest records are evicted from the tail (FIFO), so the byte bound is exact and
+// eviction costs no GC work. Only the key index lives on the heap.
+//
+// Record layout: [int length][long expiresAtNanos][int keyLength][key][byte found][value].
+// A length of -1, or fewer than four bytes left before the end of the buffer, means the rest
+// of the lap is padding.
+@Slf4j
+public class OffHeapStore<V> {
+
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES + 1;
+    private static final int PADDING = -1;
+
+    private final String name;
+    private final CacheValueCodec<V> codec;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final Ticker ticker;
+    private final ByteBuffer arena;
+    private final int capacity;
+    private final Map<String, Long> index = new HashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    // Absolute positions; the physical offset is position % capacity
+    private long head;
+    private long tail;
+
+    public OffHeapStore(String name, long maxBytes, Duration ttl, Duration negativeTtl, CacheValueCodec<V> codec,
+            Ticker ticker, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.codec = codec;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.ticker = ticker;
+        this.capacity = (int) Math.min(maxBytes, Integer.MAX_VALUE - 8);
+        this.arena = ByteBuffer.allocateDirect(capacity);
+        this.hits = getsCounter(meterRegistry, "hit");
+        this.misses = getsCounter(meterRegistry, "miss");
+        this.evictions = Counter.builder("cache.l2.evictions")
+                .description("Entries dropped from the off-heap tier to make room for newer ones")
+                .tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("cache.l2.size", this, OffHeapStore::size)
+                .description("Entries in the off-heap tier")
+                .tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("cache.l2.bytes", this, OffHeapStore::usedBytes)
+                .description("Bytes of the off-heap tier taken by records, including superseded ones")
+                .tag("cache", name)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // Null when the key is absent or expired; a confirmed absence comes back as a negative entry
+    // that keeps the deadline it was stored with.
+    public CacheEntry<V> get(String key) {
+        byte[] value;
+        long expiresAt;
+        boolean found;
+        synchronized (this) {
+            Long position = index.get(key);
+            if (position == null) {
+                misses.increment();
+                return null;
+            }
+            int offset = offset(position);
+            expiresAt = arena.getLong(offset + Integer.BYTES);
+            if (expiresAt - ticker.read() <= 0) {
+                // The bytes are reclaimed when the tail passes over them
+                index.remove(key);
+                misses.increment();
+                return null;
+            }
+            int length = arena.getInt(offset);
+            int keyLength = arena.getInt(offset + Integer.BYTES + Long.BYTES);
+            int foundOffset = offset + Integer.BYTES + Long.BYTES + Integer.BYTES + keyLength;
+            found = arena.get(foundOffset) == 1;
+            value = new byte[offset + length - foundOffset - 1];
+            arena.get(foundOffset + 1, value);
+            hits.increment();
+        }
+        return CacheEntry.expiringAt(found ? codec.read(new SnapshotReader(ByteBuffer.wrap(value))) : null, expiresAt);
+    }
+
+    // Entries are stored with a fresh TTL, the same one the on-heap tier gives them, and replace
+    // any previous record for the key. Records that do not fit the whole buffer are skipped.
+    public void put(String key, CacheEntry<V> entry) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] value = entry.isNegative() ? new byte[0] : encode(entry.value());
+        int length = HEADER_BYTES + keyBytes.length + value.length;
+        if (length > capacity) {
+            log.warn("Entry {} of cache {} is larger than the off-heap tier ({} bytes), not storing it", key, name,
+                    length);
+            return;
+        }
+        long expiresAt = ticker.read() + (entry.isNegative() ? negativeTtlNanos : ttlNanos);
+
+        synchronized (this) {
+            int offset = offset(head);
+            int padding = capacity - offset < length ? capacity - offset : 0;
+            long recordStart = head + padding;
+            evictUntil(recordStart + length - capacity);
+            if (padding >= Integer.BYTES) {
+                arena.putInt(offset, PADDING);
+            }
+
+            int at = offset(recordStart);
+            arena.putInt(at, length);
+            arena.putLong(at + Integer.BYTES, expiresAt);
+            arena.putInt(at + Integer.BYTES + Long.BYTES, keyBytes.length);
+            arena.put(at + Integer.BYTES + Long.BYTES + Integer.BYTES, keyBytes);
+            int foundOffset = at + Integer.BYTES + Long.BYTES + Integer.BYTES + keyBytes.length;
+            arena.put(foundOffset, (byte) (entry.isNegative() ? 0 : 1));
+            arena.put(foundOffset + 1, value);
+
+            index.put(key, recordStart);
+            head = recordStart + length;
+        }
+    }
+
+    public synchronized void invalidate(String key) {
+        index.remove(key);
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    public synchronized long usedBytes() {
+        return head - tail;
+    }
+
+    private void evictUntil(long newTail) {
+        while (tail < newTail) {
+            int offset = offset(tail);
+            int remaining = capacity - offset;
+            int length = remaining < Integer.BYTES ? PADDING : arena.getInt(offset);
+            if (length == PADDING) {
+                tail += remaining;
+                continue;
+            }
+            int keyLength = arena.getInt(offset + Integer.BYTES + Long.BYTES);
+            byte[] keyBytes = new byte[keyLength];
+            arena.get(offset + Integer.BYTES + Long.BYTES + Integer.BYTES, keyBytes);
+            // A newer record for the same key is indexed at another position and stays
+            if (index.remove(new String(keyBytes, StandardCharsets.UTF_8), tail)) {
+                evictions.increment();
+            }
+            tail += length;
+        }
+    }
+
+    private byte[] encode(V value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (SnapshotWriter out = new SnapshotWriter(Channels.newChannel(bytes), ByteBuffer.allocate(256))) {
+            codec.write(out, value);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private int offset(long position) {
+        return (int) (position % capacity);
+    }
+
+    private Counter getsCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.l2.gets")
+                .description("Lookups in the off-heap tier after an on-heap miss")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
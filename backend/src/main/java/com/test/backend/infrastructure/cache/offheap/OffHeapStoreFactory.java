@@ -0,0 +1,31 @@
+package com.test.backend.infrastructure.cache.offheap;
+
+import java.time.Duration;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.test.backend.infrastructure.cache.snapshot.CacheValueCodec;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Each cache gets its own buffer of maxBytesPerCache, so one cache filling up cannot evict
+// the entries of another
+public class OffHeapStoreFactory {
+
+    private final long maxBytesPerCache;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final MeterRegistry meterRegistry;
+
+    public OffHeapStoreFactory(long maxBytesPerCache, Duration ttl, Duration negativeTtl,
+            MeterRegistry meterRegistry) {
+        this.maxBytesPerCache = maxBytesPerCache;
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <V> OffHeapStore<V> create(String name, CacheValueCodec<V> codec) {
+        return new OffHeapStore<>(name, maxBytesPerCache, ttl, negativeTtl, codec, Ticker.systemTicker(),
+                meterRegistry);
+    }
+}
@@ -0,0 +1,213 @@
+package com.test.backend.infrastructure.cache.snapshot;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.context.SmartLifecycle;
+
+import com.test.backend.infrastructure.cache.CacheEntry;
+import com.test.backend.infrastructure.cache.ExpiringEntry;
+import com.test.backend.infrastructure.cache.ReactiveCacheFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+// Writes the caches created with a codec to a binary file on shutdown and every interval, and
+// loads it back on startup. It runs in the lifecycle phase before the web server starts, so a
+// restarted instance reports ready with the entries it had before, each with the TTL it had
+// left when the snapshot was taken minus the time the instance was down.
+//
+// Layout: magic, version, snapshot time (epoch millis), number of caches, then per cache its
+// name, entry count and section length followed by (key, remaining TTL nanos, found flag,
+// value) entries. Sections of caches that no longer exist are skipped.
+@Slf4j
+public class CacheSnapshotter implements SmartLifecycle {
+
+    private static final int MAGIC = 0x534E4150;
+    private static final int VERSION = 1;
+
+    private final ReactiveCacheFactory cacheFactory;
+    private final Path path;
+    private final Duration interval;
+    private final Clock clock;
+    private final Timer saveTimer;
+    private final Timer loadTimer;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public CacheSnapshotter(ReactiveCacheFactory cacheFactory, Path path, Duration interval, Clock clock,
+            MeterRegistry meterRegistry) {
+        this.cacheFactory = cacheFactory;
+        this.path = path;
+        this.interval = interval;
+        this.clock = clock;
+        this.saveTimer = snapshotTimer(meterRegistry, "save");
+        this.loadTimer = snapshotTimer(meterRegistry, "load");
+    }
+
+    @Override
+    public void start() {
+        load();
+        if (interval.isPositive()) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "cache-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::save, interval.toMillis(), interval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        save();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Started before and stopped after the web server
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    public synchronized int save() {
+        long start = System.nanoTime();
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        int written = 0;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (SnapshotWriter out = new SnapshotWriter(FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))) {
+                List<SnapshotBinding<?>> bindings = List.copyOf(cacheFactory.getSnapshotBindings());
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(clock.millis());
+                out.writeInt(bindings.size());
+                for (SnapshotBinding<?> binding : bindings) {
+                    written += writeSection(out, binding);
+                }
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            saveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.info("Cache snapshot with {} entries written to {}", written, path);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not write cache snapshot to {}", path, ex);
+        }
+        return written;
+    }
+
+    // A missing, unreadable or incompatible snapshot only means a cold start
+    public int load() {
+        if (!Files.isReadable(path)) {
+            log.info("No cache snapshot found at {}", path);
+            return 0;
+        }
+        long start = System.nanoTime();
+        int restored = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            SnapshotReader in = new SnapshotReader(buffer);
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                log.warn("Ignoring cache snapshot {} written in an unknown format", path);
+                return 0;
+            }
+            long downtimeNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, clock.millis() - in.readLong()));
+            Map<String, SnapshotBinding<?>> bindings = cacheFactory.getSnapshotBindings().stream()
+                    .collect(Collectors.toMap(binding -> binding.cache().getName(), Function.identity()));
+
+            int sections = in.readInt();
+            for (int i = 0; i < sections; i++) {
+                String name = in.readString();
+                int entries = in.readInt();
+                long length = in.readLong();
+                SnapshotBinding<?> binding = bindings.get(name);
+                if (binding == null) {
+                    in.skip(length);
+                    continue;
+                }
+                restored += readSection(in, binding, entries, downtimeNanos);
+            }
+            loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.info("Restored {} cache entries from snapshot {}", restored, path);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not load cache snapshot from {}", path, ex);
+        }
+        return restored;
+    }
+
+    private <V> int writeSection(SnapshotWriter out, SnapshotBinding<V> binding) throws IOException {
+        List<ExpiringEntry<V>> entries = binding.cache().expiringEntries();
+        out.writeString(binding.cache().getName());
+        long countPosition = out.position();
+        out.writeInt(0);
+        long lengthPosition = out.position();
+        out.writeLong(0);
+
+        long sectionStart = out.position();
+        int written = 0;
+        for (ExpiringEntry<V> entry : entries) {
+            out.writeString(entry.key());
+            out.writeLong(entry.timeToLive().toNanos());
+            if (entry.entry().isNegative()) {
+                out.writeByte(0);
+            } else {
+                out.writeByte(1);
+                binding.codec().write(out, entry.entry().value());
+            }
+            written++;
+        }
+        out.patchInt(countPosition, written);
+        out.patchLong(lengthPosition, out.position() - sectionStart);
+        return written;
+    }
+
+    private <V> int readSection(SnapshotReader in, SnapshotBinding<V> binding, int entries, long downtimeNanos) {
+        int restored = 0;
+        for (int i = 0; i < entries; i++) {
+            String key = in.readString();
+            long remainingNanos = in.readLong() - downtimeNanos;
+            CacheEntry<V> entry = in.readByte() == 0
+                    ? CacheEntry.notFound()
+                    : CacheEntry.found(binding.codec().read(in));
+            if (remainingNanos > 0 && binding.cache().restore(key, entry, Duration.ofNanos(remainingNanos))) {
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    private static Timer snapshotTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("cache.snapshot")
+                .description("Time to write or restore the cache snapshot")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
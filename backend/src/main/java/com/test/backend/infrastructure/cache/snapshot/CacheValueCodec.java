@@ -0,0 +1,10 @@
+package com.test.backend.infrastructure.cache.snapshot;
+
+import java.io.IOException;
+
+public interface CacheValueCodec<V> {
+
+    void write(SnapshotWriter out, V value) throws IOException;
+
+    V read(SnapshotReader in);
+}
@@ -0,0 +1,32 @@
+package com.test.backend.infrastructure.cache.snapshot;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import com.test.backend.domain.model.ProductDetail;
+import com.test.backend.infrastructure.cache.compact.CompactProductDetail;
+
+// Same layout the snapshots used when the caches held ProductDetail, so existing snapshot
+// files stay readable
+public class CompactProductDetailCodec implements CacheValueCodec<CompactProductDetail> {
+
+    @Override
+    public void write(SnapshotWriter out, CompactProductDetail value) throws IOException {
+        out.writeString(value.id());
+        out.writeString(value.name());
+        BigDecimal price = value.price();
+        out.writeInt(price.scale());
+        out.writeBytes(price.unscaledValue().toByteArray());
+        out.writeByte(value.availability() ? 1 : 0);
+    }
+
+    @Override
+    public CompactProductDetail read(SnapshotReader in) {
+        String id = in.readString();
+        String name = in.readString();
+        int scale = in.readInt();
+        BigDecimal price = new BigDecimal(new BigInteger(in.readBytes()), scale);
+        return CompactProductDetail.of(new ProductDetail(id, name, price, in.readByte() == 1));
+    }
+}
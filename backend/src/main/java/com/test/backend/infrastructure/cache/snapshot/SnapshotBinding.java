@@ -0,0 +1,6 @@
+package com.test.backend.infrastructure.cache.snapshot;
+
+import com.test.backend.infrastructure.cache.ReactiveCache;
+
+public record SnapshotBinding<V>(ReactiveCache<V> cache, CacheValueCodec<V> codec) {
+}
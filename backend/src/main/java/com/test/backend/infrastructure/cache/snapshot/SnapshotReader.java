@@ -0,0 +1,47 @@
+package com.test.backend.infrastructure.cache.snapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class SnapshotReader {
+
+    private final ByteBuffer buffer;
+
+    public SnapshotReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public byte readByte() {
+        return buffer.get();
+    }
+
+    public int readInt() {
+        return buffer.getInt();
+    }
+
+    public long readLong() {
+        return buffer.getLong();
+    }
+
+    public byte[] readBytes() {
+        byte[] value = new byte[buffer.getInt()];
+        buffer.get(value);
+        return value;
+    }
+
+    public String readString() {
+        return new String(readBytes(), StandardCharsets.UTF_8);
+    }
+
+    public long position() {
+        return buffer.position();
+    }
+
+    public void skip(long bytes) {
+        buffer.position(Math.toIntExact(buffer.position() + bytes));
+    }
+
+    public boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+}
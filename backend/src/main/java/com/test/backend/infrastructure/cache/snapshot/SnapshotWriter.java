@@ -0,0 +1,103 @@
+package com.test.backend.infrastructure.cache.snapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+// Big-endian primitives written through one buffer that is flushed to the channel when full.
+// Lengths that are only known at the end of a section are patched in place afterwards, which
+// needs a file channel.
+public class SnapshotWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private long flushed;
+
+    public SnapshotWriter(FileChannel channel) {
+        this(channel, ByteBuffer.allocateDirect(BUFFER_SIZE));
+    }
+
+    public SnapshotWriter(WritableByteChannel channel, ByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    public void writeByte(int value) throws IOException {
+        ensure(Byte.BYTES).put((byte) value);
+    }
+
+    public void writeInt(int value) throws IOException {
+        ensure(Integer.BYTES).putInt(value);
+    }
+
+    public void writeLong(long value) throws IOException {
+        ensure(Long.BYTES).putLong(value);
+    }
+
+    public void writeBytes(byte[] value) throws IOException {
+        writeInt(value.length);
+        if (value.length <= buffer.capacity()) {
+            ensure(value.length).put(value);
+            return;
+        }
+        flush();
+        ByteBuffer large = ByteBuffer.wrap(value);
+        while (large.hasRemaining()) {
+            flushed += channel.write(large);
+        }
+    }
+
+    public void writeString(String value) throws IOException {
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long position() {
+        return flushed + buffer.position();
+    }
+
+    public void patchInt(long position, int value) throws IOException {
+        flush();
+        fileChannel().write(ByteBuffer.allocate(Integer.BYTES).putInt(0, value), position);
+    }
+
+    public void patchLong(long position, long value) throws IOException {
+        flush();
+        fileChannel().write(ByteBuffer.allocate(Long.BYTES).putLong(0, value), position);
+    }
+
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            flushed += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (channel instanceof FileChannel file) {
+            file.force(false);
+        }
+        channel.close();
+    }
+
+    private FileChannel fileChannel() {
+        if (channel instanceof FileChannel file) {
+            return file;
+        }
+        throw new IllegalStateException("Patching requires a file channel");
+    }
+
+    private ByteBuffer ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+        return buffer;
+    }
+}
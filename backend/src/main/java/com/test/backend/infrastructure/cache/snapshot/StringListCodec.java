@@ -0,0 +1,28 @@
+package com.test.backend.infrastructure.cache.snapshot;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.test.backend.infrastructure.cache.compact.CompactIdList;
+
+public class StringListCodec implements CacheValueCodec<List<String>> {
+
+    @Override
+    public void write(SnapshotWriter out, List<String> value) throws IOException {
+        out.writeInt(value.size());
+        for (String item : value) {
+            out.writeString(item);
+        }
+    }
+
+    @Override
+    public List<String> read(SnapshotReader in) {
+        int size = in.readInt();
+        List<String> value = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            value.add(in.readString());
+        }
+        return CompactIdList.of(value);
+    }
+}
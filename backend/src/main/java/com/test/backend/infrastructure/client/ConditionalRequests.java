@@ -0,0 +1,37 @@
+package com.test.backend.infrastructure.client;
+
+import java.util.function.Consumer;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.test.backend.infrastructure.cache.Validators;
+
+// Validators are passed through verbatim: the downstream compares them with its own, so they
+// are never parsed or normalised here
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    static Consumer<HttpHeaders> headers(Validators validators) {
+        return headers -> {
+            if (validators.etag() != null) {
+                headers.set(HttpHeaders.IF_NONE_MATCH, validators.etag());
+            }
+            if (validators.lastModified() != null) {
+                headers.set(HttpHeaders.IF_MODIFIED_SINCE, validators.lastModified());
+            }
+        };
+    }
+
+    static Validators validators(ResponseEntity<?> response) {
+        return new Validators(response.getHeaders().getFirst(HttpHeaders.ETAG),
+                response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED));
+    }
+
+    static boolean notModified(ResponseEntity<?> response) {
+        return response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED);
+    }
+}
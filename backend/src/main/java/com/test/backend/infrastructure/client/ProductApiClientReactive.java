@@ -1,59 +1,146 @@
 package com.test.backend.infrastructure.client;
 
-import java.util.Optional;
-
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import com.test.backend.domain.exception.ExternalApiException;
 import com.test.backend.domain.model.ProductDetail;
 import com.test.backend.domain.port.output.ProductPort;
+import com.test.backend.infrastructure.cache.ReactiveCache;
+import com.test.backend.infrastructure.cache.ReactiveCacheFactory;
+import com.test.backend.infrastructure.cache.Validated;
+import com.test.backend.infrastructure.cache.Validators;
+import com.test.backend.infrastructure.cache.compact.CompactProductDetail;
+import com.test.backend.infrastructure.cache.snapshot.CompactProductDetailCodec;
 import com.test.backend.infrastructure.dto.ProductResponse;
 import com.test.backend.infrastructure.mapper.ProductRestMapper;
+import com.test.backend.infrastructure.metrics.FetchOutcome;
+import com.test.backend.infrastructure.metrics.PipelineMetrics;
+import com.test.backend.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import com.test.backend.infrastructure.resilience.ConcurrencyLimitExceededException;
+import com.test.backend.infrastructure.resilience.OutlierEjectedException;
+import com.test.backend.infrastructure.resilience.OutlierEjector;
+import com.test.backend.infrastructure.resilience.RequestHedger;
+import com.test.backend.infrastructure.timeline.RequestTimeline;
 
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ProductApiClientReactive implements ProductPort {
 
     private final WebClient webClient;
+    private final RequestHedger hedger;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final OutlierEjector ejector;
+    private final PipelineMetrics metrics;
+    private final ReactiveCache<CompactProductDetail> productDetailsCache;
 
     @Value("${api.product.base-url}")
     private String baseUrl;
 
+    public ProductApiClientReactive(@Qualifier("productApiWebClient") WebClient webClient,
+            ReactiveCacheFactory cacheFactory, RequestHedger hedger,
+            @Qualifier("productApiLimiter") AdaptiveConcurrencyLimiter limiter, OutlierEjector ejector,
+            PipelineMetrics metrics) {
+        this.webClient = webClient;
+        this.hedger = hedger;
+        this.limiter = limiter;
+        this.ejector = ejector;
+        this.metrics = metrics;
+        this.productDetailsCache = cacheFactory.createConditional("productDetails",
+                (productId, validators) -> getProductByIdReactive(productId, validators)
+                        .map(result -> result.map(CompactProductDetail::of)),
+                new CompactProductDetailCodec());
+    }
+
     @Override
-    @Cacheable(value = "productDetails", key = "#productId")
     @CircuitBreaker(name = "productApi", fallbackMethod = "getProductByIdFallback")
-    public Optional<ProductDetail> getProductById(String productId) {
-        log.debug("Fetching product from external API: {}", productId);
-        return getProductByIdReactive(productId).block();
+    public Mono<ProductDetail> getProductById(String productId) {
+        return Mono.deferContextual(context -> {
+            long start = System.nanoTime();
+            boolean cached = productDetailsCache.isCached(productId);
+            // An ejected product is served from cache if it is there and fails fast otherwise; an
+            // error and not an empty result, which would read as a product that does not exist
+            if (!cached && ejector.isEjected(productId)) {
+                recordFetch(context, productId, FetchOutcome.EJECTED, start);
+                return Mono.<ProductDetail>error(new OutlierEjectedException(ejector.getName(), productId));
+            }
+            return productDetailsCache.get(productId)
+                    .map(CompactProductDetail::toProductDetail)
+                    .doOnSuccess(product -> recordFetch(context, productId, product == null ? FetchOutcome.NOT_FOUND
+                            : cached ? FetchOutcome.HIT : FetchOutcome.MISS, start))
+                    .doOnError(ex -> recordFetch(context, productId, FetchOutcome.ERROR, start));
+        });
     }
 
-    private Optional<ProductDetail> getProductByIdFallback(String productId, Exception ex) {
+    // Failures, an open circuit included, reach the caller as errors: completing empty would
+    // pass them off as a product that does not exist
+    private Mono<ProductDetail> getProductByIdFallback(String productId, Exception ex) {
+        if (ex instanceof OutlierEjectedException) {
+            return Mono.error(ex);
+        }
         log.error("Fallback triggered for product: {}", productId, ex);
-        return Optional.empty();
+        if (ex instanceof ExternalApiException) {
+            return Mono.error(ex);
+        }
+        Mono<ProductDetail> unavailable = Mono.error(new ExternalApiException(
+                "Product API is unavailable for product: " + productId, ex));
+        if (!(ex instanceof CallNotPermittedException)) {
+            return unavailable;
+        }
+        return Mono.deferContextual(context -> {
+            recordFetch(context, productId, FetchOutcome.FALLBACK, System.nanoTime());
+            return unavailable;
+        });
+    }
+
+    private void recordFetch(ContextView context, String productId, FetchOutcome outcome, long startNanos) {
+        metrics.recordProductFetch(outcome, startNanos);
+        RequestTimeline.from(context)
+                .ifPresent(timeline -> timeline.record("product", productId, "productApi", outcome, startNanos));
+    }
+
+    // Refreshes of an ejected product fail fast and keep the cached value until it is let back in
+    private Mono<Validated<ProductDetail>> getProductByIdReactive(String productId, Validators validators) {
+        if (ejector.isEjected(productId)) {
+            return Mono.error(new OutlierEjectedException(ejector.getName(), productId));
+        }
+        return ejector.track(productId,
+                () -> hedger.hedge(() -> limiter.limit(() -> requestProduct(productId, validators))))
+                .onErrorMap(ex -> !(ex instanceof ConcurrencyLimitExceededException), ex -> {
+                    log.error("Error fetching product from external API: {}", productId, ex);
+                    return new ExternalApiException("Product API is unavailable for product: " + productId, ex);
+                });
     }
 
-    private Mono<Optional<ProductDetail>> getProductByIdReactive(String productId) {
+    // With validators this is a conditional GET; a 304 has no body and nothing is parsed
+    private Mono<Validated<ProductDetail>> requestProduct(String productId, Validators validators) {
+        log.debug("Fetching product from external API: {}", productId);
         return webClient.get()
                 .uri(baseUrl + "/product/{id}", productId)
+                .headers(ConditionalRequests.headers(validators))
                 .retrieve()
-                .bodyToMono(ProductResponse.class)
-                .map(response -> Optional.of(ProductRestMapper.toDomainProductDetail(response)))
+                .toEntity(ProductResponse.class)
+                .flatMap(response -> {
+                    if (ConditionalRequests.notModified(response)) {
+                        log.debug("Product not modified: {}", productId);
+                        return Mono.just(Validated.<ProductDetail>unchanged());
+                    }
+                    return Mono.justOrEmpty(response.getBody())
+                            .map(body -> Validated.of(ProductRestMapper.toDomainProductDetail(body),
+                                    ConditionalRequests.validators(response)));
+                })
                 .onErrorResume(WebClientResponseException.NotFound.class, ex -> {
                     log.debug("Product not found 404: {}", productId);
-                    return Mono.just(Optional.empty());
-                })
-                .onErrorResume(Exception.class, ex -> {
-                    log.error("Error fetching product from external API: {}", productId, ex);
-                    return Mono.just(Optional.empty());
+                    return Mono.empty();
                 });
     }
 
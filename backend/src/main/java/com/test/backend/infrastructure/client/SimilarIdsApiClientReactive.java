@@ -1,10 +1,9 @@
 package com.test.backend.infrastructure.client;
 
 import java.util.List;
-import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -13,48 +12,102 @@ import org.springframework.web.reactive.function.client.WebClientResponseExcepti
 import com.test.backend.domain.exception.ExternalApiException;
 import com.test.backend.domain.exception.ProductNotFoundException;
 import com.test.backend.domain.port.output.SimilarIdsPort;
+import com.test.backend.infrastructure.cache.ReactiveCache;
+import com.test.backend.infrastructure.cache.ReactiveCacheFactory;
+import com.test.backend.infrastructure.cache.Validated;
+import com.test.backend.infrastructure.cache.Validators;
+import com.test.backend.infrastructure.cache.compact.CompactIdList;
+import com.test.backend.infrastructure.cache.snapshot.StringListCodec;
+import com.test.backend.infrastructure.metrics.FetchOutcome;
+import com.test.backend.infrastructure.metrics.PipelineMetrics;
+import com.test.backend.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import com.test.backend.infrastructure.timeline.RequestTimeline;
 
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class SimilarIdsApiClientReactive implements SimilarIdsPort {
 
     private final WebClient webClient;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final PipelineMetrics metrics;
+    private final ReactiveCache<List<String>> similarIdsCache;
 
     @Value("${api.product.base-url}")
     private String baseUrl;
 
+    public SimilarIdsApiClientReactive(@Qualifier("similarIdsApiWebClient") WebClient webClient,
+            ReactiveCacheFactory cacheFactory,
+            @Qualifier("similarIdsApiLimiter") AdaptiveConcurrencyLimiter limiter, PipelineMetrics metrics) {
+        this.webClient = webClient;
+        this.limiter = limiter;
+        this.metrics = metrics;
+        this.similarIdsCache = cacheFactory.createConditional("similarIds",
+                (productId, validators) -> getSimilarProductIdsReactive(productId, validators)
+                        .map(result -> result.<List<String>>map(CompactIdList::of)),
+                new StringListCodec());
+    }
+
     @Override
-    @Cacheable(value = "similarIds", key = "#productId", unless = "#result.isEmpty()")
     @CircuitBreaker(name = "similarIdsApi", fallbackMethod = "getSimilarProductIdsFallback")
-    public List<String> getSimilarProductIds(String productId) {
-        log.debug("Fetching similar IDs from external API for: {}", productId);
-        return getSimilarProductIdsReactive(productId).block();
+    public Mono<List<String>> getSimilarProductIds(String productId) {
+        return Mono.deferContextual(context -> {
+            long start = System.nanoTime();
+            boolean cached = similarIdsCache.isCached(productId);
+            return similarIdsCache.get(productId)
+                    .doOnSuccess(ids -> recordFetch(context, productId, ids == null ? FetchOutcome.NOT_FOUND
+                            : cached ? FetchOutcome.HIT : FetchOutcome.MISS, start))
+                    .doOnError(ex -> recordFetch(context, productId, FetchOutcome.ERROR, start));
+        }).switchIfEmpty(Mono.error(() -> new ProductNotFoundException(productId)));
     }
 
-    private List<String> getSimilarProductIdsFallback(String productId, Exception ex) {
+    private Mono<List<String>> getSimilarProductIdsFallback(String productId, Exception ex) {
         log.error("Fallback triggered for similar IDs: {}", productId, ex);
         if (ex instanceof ProductNotFoundException || ex instanceof ExternalApiException)
-            throw (RuntimeException) ex;
-        throw new ExternalApiException(
-                "Similar products API is unavailable for product: " + productId, ex);
+            return Mono.error(ex);
+        Mono<List<String>> unavailable = Mono.error(new ExternalApiException(
+                "Similar products API is unavailable for product: " + productId, ex));
+        if (!(ex instanceof CallNotPermittedException)) {
+            return unavailable;
+        }
+        return Mono.deferContextual(context -> {
+            recordFetch(context, productId, FetchOutcome.FALLBACK, System.nanoTime());
+            return unavailable;
+        });
     }
 
-    private Mono<List<String>> getSimilarProductIdsReactive(String productId) {
-        return webClient.get()
-                .uri(baseUrl + "/product/{id}/similarids", productId)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<String>>() {
-                })
-                .onErrorResume(WebClientResponseException.NotFound.class, ex -> {
-                    log.debug("Similar IDs not found for: {}", productId);
-                    return Mono.error(new ProductNotFoundException(productId));
-                })
+    private void recordFetch(ContextView context, String productId, FetchOutcome outcome, long startNanos) {
+        metrics.recordSimilarIdsFetch(outcome, startNanos);
+        RequestTimeline.from(context)
+                .ifPresent(timeline -> timeline.record("similarIds", productId, "similarIdsApi", outcome, startNanos));
+    }
+
+    // With validators this is a conditional GET; a 304 has no body and nothing is parsed
+    private Mono<Validated<List<String>>> getSimilarProductIdsReactive(String productId, Validators validators) {
+        log.debug("Fetching similar IDs from external API for: {}", productId);
+        return limiter.limit(() -> webClient.get()
+                        .uri(baseUrl + "/product/{id}/similarids", productId)
+                        .headers(ConditionalRequests.headers(validators))
+                        .retrieve()
+                        .toEntity(new ParameterizedTypeReference<List<String>>() {
+                        })
+                        .flatMap(response -> {
+                            if (ConditionalRequests.notModified(response)) {
+                                log.debug("Similar IDs not modified for: {}", productId);
+                                return Mono.just(Validated.<List<String>>unchanged());
+                            }
+                            return Mono.justOrEmpty(response.getBody())
+                                    .map(ids -> Validated.of(ids, ConditionalRequests.validators(response)));
+                        })
+                        .onErrorResume(WebClientResponseException.NotFound.class, ex -> {
+                            log.debug("Similar IDs not found for: {}", productId);
+                            return Mono.empty();
+                        }))
                 .onErrorResume(WebClientResponseException.class, ex -> {
                     log.warn("Error fetching similar IDs from external API for: {}", productId, ex);
                     return Mono.error(new ExternalApiException(
@@ -1,15 +1,25 @@
 package com.test.backend.infrastructure.config;
 
+import java.nio.file.Path;
+import java.time.Clock;
 import java.time.Duration;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.CacheManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.backend.infrastructure.cache.CacheEntryExpiry;
+import com.test.backend.infrastructure.cache.ReactiveCacheFactory;
+import com.test.backend.infrastructure.cache.offheap.OffHeapStoreFactory;
+import com.test.backend.infrastructure.cache.snapshot.CacheSnapshotter;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 @EnableCaching
@@ -21,20 +31,61 @@ public class CacheConfig {
     @Value("${cache.caffeine.expire-after-write:10m}")
     private Duration expireAfterWrite;
 
+    @Value("${cache.caffeine.negative-ttl:1m}")
+    private Duration negativeTtl;
+
+    @Value("${cache.caffeine.refresh-after-write:0s}")
+    private Duration refreshAfterWrite;
+
     @Value("${cache.caffeine.record-stats:true}")
     private boolean recordStats;
 
+    @Value("${cache.snapshot.path:${java.io.tmpdir}/backend-cache.snapshot}")
+    private Path snapshotPath;
+
+    @Value("${cache.snapshot.interval:5m}")
+    private Duration snapshotInterval;
+
+    @Value("${cache.l2.enabled:false}")
+    private boolean offHeapEnabled;
+
+    @Value("${cache.l2.max-size:64MB}")
+    private DataSize offHeapMaxSize;
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("productDetails", "similarIds");
-        cacheManager.setCaffeine(caffeineCacheBuilder());
+    public CaffeineCacheManager cacheManager() {
+        // Caches are registered by ReactiveCacheFactory together with their loaders,
+        // which refreshAfterWrite needs; no cache is created on demand by name.
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAsyncCacheMode(true);
+        cacheManager.setCacheNames(List.of());
         return cacheManager;
     }
 
+    @Bean
+    public ReactiveCacheFactory reactiveCacheFactory(CaffeineCacheManager cacheManager, MeterRegistry meterRegistry) {
+        // The off-heap buffers count against -XX:MaxDirectMemorySize, which defaults to the heap size
+        OffHeapStoreFactory offHeapStoreFactory = offHeapEnabled
+                ? new OffHeapStoreFactory(offHeapMaxSize.toBytes(), expireAfterWrite, negativeTtl, meterRegistry)
+                : null;
+        return new ReactiveCacheFactory(this::caffeineCacheBuilder, cacheManager, meterRegistry, offHeapStoreFactory);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.snapshot", name = "enabled", havingValue = "true")
+    public CacheSnapshotter cacheSnapshotter(ReactiveCacheFactory reactiveCacheFactory, MeterRegistry meterRegistry) {
+        return new CacheSnapshotter(reactiveCacheFactory, snapshotPath, snapshotInterval, Clock.systemUTC(),
+                meterRegistry);
+    }
+
     private Caffeine<Object, Object> caffeineCacheBuilder() {
         Caffeine<Object, Object> builder = Caffeine.newBuilder()
                 .maximumSize(maximumSize)
-                .expireAfterWrite(expireAfterWrite);
+                .expireAfter(new CacheEntryExpiry(expireAfterWrite, negativeTtl));
+
+        if (refreshAfterWrite.isPositive()) {
+            builder.refreshAfterWrite(refreshAfterWrite);
+        }
         
         if (recordStats) {
             builder.recordStats();
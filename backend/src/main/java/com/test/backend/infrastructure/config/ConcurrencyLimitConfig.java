@@ -0,0 +1,27 @@
+package com.test.backend.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.test.backend.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter productApiLimiter(
+            @Qualifier("productApiWebClientProperties") WebClientProperties properties,
+            MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("productApi", properties.getBulkhead(), meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter similarIdsApiLimiter(
+            @Qualifier("similarIdsApiWebClientProperties") WebClientProperties properties,
+            MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("similarIdsApi", properties.getBulkhead(), meterRegistry);
+    }
+}
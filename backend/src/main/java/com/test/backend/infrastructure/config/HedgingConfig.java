@@ -0,0 +1,35 @@
+package com.test.backend.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.test.backend.infrastructure.resilience.RequestHedger;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class HedgingConfig {
+
+    @Value("${api.product.hedging.enabled:false}")
+    private boolean enabled;
+
+    @Value("${api.product.hedging.percentile:0.95}")
+    private double percentile;
+
+    @Value("${api.product.hedging.min-delay:50ms}")
+    private Duration minDelay;
+
+    @Value("${api.product.hedging.max-delay:1s}")
+    private Duration maxDelay;
+
+    @Value("${api.product.hedging.max-hedge-ratio:0.1}")
+    private double maxHedgeRatio;
+
+    @Bean
+    public RequestHedger productApiHedger(MeterRegistry meterRegistry) {
+        return new RequestHedger("productApi", enabled, percentile, minDelay, maxDelay, maxHedgeRatio, meterRegistry);
+    }
+}
@@ -0,0 +1,33 @@
+package com.test.backend.infrastructure.config;
+
+import java.time.Clock;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.test.backend.infrastructure.resilience.OutlierEjectionProperties;
+import com.test.backend.infrastructure.resilience.OutlierEjectionsEndpoint;
+import com.test.backend.infrastructure.resilience.OutlierEjector;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class OutlierEjectionConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "api.product.outlier-ejection")
+    public OutlierEjectionProperties productApiOutlierEjectionProperties() {
+        return new OutlierEjectionProperties();
+    }
+
+    @Bean
+    public OutlierEjector productApiEjector(OutlierEjectionProperties properties, MeterRegistry meterRegistry) {
+        return new OutlierEjector("productApi", properties, Clock.systemUTC(), meterRegistry);
+    }
+
+    @Bean
+    public OutlierEjectionsEndpoint outlierEjectionsEndpoint(OutlierEjector productApiEjector) {
+        return new OutlierEjectionsEndpoint(productApiEjector);
+    }
+}
@@ -0,0 +1,69 @@
+package com.test.backend.infrastructure.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.backend.domain.port.input.GetSimilarProductsUseCase;
+import com.test.backend.infrastructure.cache.ReactiveCacheFactory;
+import com.test.backend.infrastructure.rest.response.JacksonSimilarProductsJsonWriter;
+import com.test.backend.infrastructure.rest.response.ResponseCompression;
+import com.test.backend.infrastructure.rest.response.SimilarProductsJsonWriter;
+import com.test.backend.infrastructure.rest.response.SimilarProductsResponses;
+import com.test.backend.infrastructure.rest.response.StreamingSimilarProductsJsonWriter;
+
+@Configuration
+public class ResponseConfig {
+
+    public enum JsonWriter {
+        JACKSON, STREAMING
+    }
+
+    @Value("${cache.responses.enabled:false}")
+    private boolean responseCacheEnabled;
+
+    @Value("${similar-products.json-writer:jackson}")
+    private JsonWriter jsonWriter;
+
+    @Value("${similar-products.compression.enabled:false}")
+    private boolean compressionEnabled;
+
+    @Value("${similar-products.compression.deflate:false}")
+    private boolean deflateEnabled;
+
+    @Value("${similar-products.compression.min-size:256B}")
+    private DataSize compressionMinSize;
+
+    @Bean
+    public SimilarProductsJsonWriter similarProductsJsonWriter(ObjectMapper objectMapper) {
+        return switch (jsonWriter) {
+            case JACKSON -> new JacksonSimilarProductsJsonWriter(objectMapper);
+            case STREAMING -> new StreamingSimilarProductsJsonWriter(objectMapper);
+        };
+    }
+
+    @Bean
+    public ResponseCompression responseCompression() {
+        List<String> encodings = new ArrayList<>();
+        if (compressionEnabled) {
+            encodings.add(ResponseCompression.GZIP);
+            if (deflateEnabled) {
+                encodings.add(ResponseCompression.DEFLATE);
+            }
+        }
+        return new ResponseCompression(encodings, (int) compressionMinSize.toBytes());
+    }
+
+    @Bean
+    public SimilarProductsResponses similarProductsResponses(GetSimilarProductsUseCase getSimilarProductsUseCase,
+            SimilarProductsJsonWriter similarProductsJsonWriter, ResponseCompression responseCompression,
+            ReactiveCacheFactory reactiveCacheFactory) {
+        return new SimilarProductsResponses(getSimilarProductsUseCase, similarProductsJsonWriter,
+                responseCompression, responseCacheEnabled ? reactiveCacheFactory : null);
+    }
+}
@@ -0,0 +1,45 @@
+package com.test.backend.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.test.backend.infrastructure.timeline.SlowRequestFilter;
+import com.test.backend.infrastructure.timeline.SlowRequestLog;
+import com.test.backend.infrastructure.timeline.SlowRequestProperties;
+import com.test.backend.infrastructure.timeline.SlowRequestsEndpoint;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class SlowRequestConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "similar-products.slow-requests")
+    public SlowRequestProperties slowRequestProperties() {
+        return new SlowRequestProperties();
+    }
+
+    @Bean
+    public SlowRequestLog slowRequestLog(SlowRequestProperties properties,
+            CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry) {
+        return new SlowRequestLog(properties, circuitBreakerRegistry, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SlowRequestFilter> slowRequestFilter(SlowRequestProperties properties,
+            SlowRequestLog slowRequestLog) {
+        FilterRegistrationBean<SlowRequestFilter> registration = new FilterRegistrationBean<>(
+                new SlowRequestFilter(slowRequestLog));
+        registration.addUrlPatterns("/product/*");
+        registration.setEnabled(properties.isEnabled());
+        return registration;
+    }
+
+    @Bean
+    public SlowRequestsEndpoint slowRequestsEndpoint(SlowRequestLog slowRequestLog) {
+        return new SlowRequestsEndpoint(slowRequestLog);
+    }
+}
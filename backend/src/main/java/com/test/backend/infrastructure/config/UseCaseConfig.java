@@ -1,5 +1,8 @@
 package com.test.backend.infrastructure.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -7,14 +10,21 @@ import com.test.backend.application.usecases.GetSimilarProductsUseCaseImpl;
 import com.test.backend.domain.port.input.GetSimilarProductsUseCase;
 import com.test.backend.domain.port.output.ProductPort;
 import com.test.backend.domain.port.output.SimilarIdsPort;
+import com.test.backend.domain.port.output.SimilarProductsMetricsPort;
 
 @Configuration
 public class UseCaseConfig {
 
+    @Value("${similar-products.latency-budget:0s}")
+    private Duration latencyBudget;
+
     @Bean
-    public GetSimilarProductsUseCase getSimilarProductsUseCase(SimilarIdsPort similarIdsPort, ProductPort productPort) {
+    public GetSimilarProductsUseCase getSimilarProductsUseCase(SimilarIdsPort similarIdsPort, ProductPort productPort,
+            SimilarProductsMetricsPort metrics) {
         return new GetSimilarProductsUseCaseImpl(
                 similarIdsPort,
-                productPort);
+                productPort,
+                latencyBudget,
+                metrics);
     }
 }
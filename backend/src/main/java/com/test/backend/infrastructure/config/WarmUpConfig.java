@@ -0,0 +1,41 @@
+package com.test.backend.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.test.backend.domain.port.input.GetSimilarProductsUseCase;
+import com.test.backend.domain.port.output.ProductPort;
+import com.test.backend.domain.port.output.SimilarIdsPort;
+import com.test.backend.infrastructure.rest.controller.ProductController;
+import com.test.backend.infrastructure.warmup.WarmUpProperties;
+import com.test.backend.infrastructure.warmup.WarmUpRunner;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class WarmUpConfig {
+
+    @Value("${api.product.base-url}")
+    private String baseUrl;
+
+    @Bean
+    @ConfigurationProperties(prefix = "warmup")
+    public WarmUpProperties warmUpProperties() {
+        return new WarmUpProperties();
+    }
+
+    @Bean
+    public WarmUpRunner warmUpRunner(WarmUpProperties properties,
+            @Qualifier("productApiWebClient") WebClient productApiWebClient,
+            @Qualifier("similarIdsApiWebClient") WebClient similarIdsApiWebClient,
+            ProductPort productPort, SimilarIdsPort similarIdsPort,
+            GetSimilarProductsUseCase getSimilarProductsUseCase, ProductController productController,
+            MeterRegistry meterRegistry) {
+        return new WarmUpRunner(properties, productApiWebClient, similarIdsApiWebClient, baseUrl, productPort,
+                similarIdsPort, getSimilarProductsUseCase, productController, meterRegistry);
+    }
+}
@@ -1,9 +1,9 @@
 package com.test.backend.infrastructure.config;
 
-import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
@@ -12,58 +12,106 @@ import org.springframework.web.reactive.function.client.WebClient;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.resources.ConnectionProvider;
 
+// Each downstream endpoint gets its own connection pool, so a hanging product detail API
+// cannot take the connections the similar IDs calls need. Pool metrics are published as
+// reactor.netty.connection.provider.* tagged with the pool name. With h2c the fan-out is
+// multiplexed over http2.max-connections connections of up to http2.max-concurrent-streams
+// streams each, h2c upgrades from HTTP/1.1 and h2c-prior-knowledge speaks HTTP/2 directly.
 @Configuration
 public class WebClientConfig {
 
-    @Value("${webclient.connection-pool.max-connections}")
-    private int maxConnections;
-
-    @Value("${webclient.connection-pool.max-idle-time}")
-    private Duration maxIdleTime;
+    @Bean
+    @ConfigurationProperties(prefix = "webclient.product-api")
+    public WebClientProperties productApiWebClientProperties() {
+        return new WebClientProperties();
+    }
 
-    @Value("${webclient.connection-pool.max-life-time}")
-    private Duration maxLifeTime;
+    @Bean
+    @ConfigurationProperties(prefix = "webclient.similar-ids-api")
+    public WebClientProperties similarIdsApiWebClientProperties() {
+        return new WebClientProperties();
+    }
 
-    @Value("${webclient.connection-pool.pending-acquire-timeout}")
-    private Duration pendingAcquireTimeout;
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider productApiConnectionProvider(
+            @Qualifier("productApiWebClientProperties") WebClientProperties properties) {
+        return createConnectionProvider("productApi", properties);
+    }
 
-    @Value("${webclient.connection-pool.evict-in-background}")
-    private Duration evictInBackground;
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider similarIdsApiConnectionProvider(
+            @Qualifier("similarIdsApiWebClientProperties") WebClientProperties properties) {
+        return createConnectionProvider("similarIdsApi", properties);
+    }
 
-    @Value("${webclient.timeouts.connect-timeout}")
-    private int connectTimeout;
+    @Bean
+    public WebClient productApiWebClient(
+            @Qualifier("productApiWebClientProperties") WebClientProperties properties,
+            @Qualifier("productApiConnectionProvider") ConnectionProvider connectionProvider) {
+        return createWebClient(connectionProvider, properties);
+    }
 
-    @Value("${webclient.timeouts.response-timeout}")
-    private Duration responseTimeout;
+    @Bean
+    public WebClient similarIdsApiWebClient(
+            @Qualifier("similarIdsApiWebClientProperties") WebClientProperties properties,
+            @Qualifier("similarIdsApiConnectionProvider") ConnectionProvider connectionProvider) {
+        return createWebClient(connectionProvider, properties);
+    }
 
-    @Value("${webclient.timeouts.read-timeout}")
-    private Duration readTimeout;
+    WebClient createWebClient(String name, WebClientProperties properties) {
+        return createWebClient(createConnectionProvider(name, properties), properties);
+    }
 
-    @Value("${webclient.timeouts.write-timeout}")
-    private Duration writeTimeout;
+    ConnectionProvider createConnectionProvider(String name, WebClientProperties properties) {
+        WebClientProperties.ConnectionPool pool = properties.getConnectionPool();
+        WebClientProperties.Protocol protocol = properties.getProtocol();
+
+        ConnectionProvider.Builder connectionProviderBuilder = ConnectionProvider.builder(name)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictInBackground())
+                .metrics(true);
+        if (protocol != WebClientProperties.Protocol.HTTP11) {
+            WebClientProperties.Http2 http2 = properties.getHttp2();
+            connectionProviderBuilder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConnections(http2.getMaxConnections())
+                    .minConnections(http2.getMinConnections())
+                    .maxConcurrentStreams(http2.getMaxConcurrentStreams())
+                    .build());
+        }
+        return connectionProviderBuilder.build();
+    }
 
-    @Bean
-    public WebClient webClient() {
-        ConnectionProvider connectionProvider = ConnectionProvider.builder("custom")
-                .maxConnections(maxConnections)
-                .maxIdleTime(maxIdleTime)
-                .maxLifeTime(maxLifeTime)
-                .pendingAcquireTimeout(pendingAcquireTimeout)
-                .evictInBackground(evictInBackground)
-                .build();
+    private WebClient createWebClient(ConnectionProvider connectionProvider, WebClientProperties properties) {
+        WebClientProperties.Timeouts timeouts = properties.getTimeouts();
+        WebClientProperties.Protocol protocol = properties.getProtocol();
 
         HttpClient httpClient = HttpClient.create(connectionProvider)
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
-                .responseTimeout(responseTimeout)
+                .protocol(httpProtocols(protocol))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) timeouts.getConnectTimeout().toMillis())
+                .responseTimeout(timeouts.getResponseTimeout())
                 .doOnConnected(conn -> conn
-                        .addHandlerLast(new ReadTimeoutHandler(readTimeout.getSeconds(), TimeUnit.SECONDS))
-                        .addHandlerLast(new WriteTimeoutHandler(writeTimeout.getSeconds(), TimeUnit.SECONDS)));
+                        .addHandlerLast(new ReadTimeoutHandler(timeouts.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(timeouts.getWriteTimeout().toMillis(), TimeUnit.MILLISECONDS)));
 
         return WebClient.builder()
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
+
+    private static HttpProtocol[] httpProtocols(WebClientProperties.Protocol protocol) {
+        return switch (protocol) {
+            case HTTP11 -> new HttpProtocol[] { HttpProtocol.HTTP11 };
+            case H2C -> new HttpProtocol[] { HttpProtocol.H2C, HttpProtocol.HTTP11 };
+            case H2C_PRIOR_KNOWLEDGE -> new HttpProtocol[] { HttpProtocol.H2C };
+        };
+    }
 }
@@ -0,0 +1,47 @@
+package com.test.backend.infrastructure.config;
+
+import java.time.Duration;
+
+import com.test.backend.infrastructure.resilience.ConcurrencyLimitProperties;
+
+import lombok.Data;
+
+@Data
+public class WebClientProperties {
+    private Protocol protocol = Protocol.HTTP11;
+    private Http2 http2 = new Http2();
+    private ConnectionPool connectionPool = new ConnectionPool();
+    private Timeouts timeouts = new Timeouts();
+    private ConcurrencyLimitProperties bulkhead = new ConcurrencyLimitProperties();
+
+    @Data
+    public static class ConnectionPool {
+        private int maxConnections = 100;
+        private int pendingAcquireMaxCount = 200;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(1);
+        private Duration maxIdleTime = Duration.ofSeconds(20);
+        private Duration maxLifeTime = Duration.ofSeconds(60);
+        private Duration evictInBackground = Duration.ofSeconds(120);
+    }
+
+    @Data
+    public static class Timeouts {
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration responseTimeout = Duration.ofSeconds(3);
+        private Duration readTimeout = Duration.ofSeconds(3);
+        private Duration writeTimeout = Duration.ofSeconds(3);
+    }
+
+    @Data
+    public static class Http2 {
+        private int maxConnections = 4;
+        private int minConnections = 1;
+        private int maxConcurrentStreams = 100;
+    }
+
+    public enum Protocol {
+        HTTP11,
+        H2C,
+        H2C_PRIOR_KNOWLEDGE
+    }
+}
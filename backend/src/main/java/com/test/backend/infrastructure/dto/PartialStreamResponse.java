@@ -0,0 +1,10 @@
+package com.test.backend.infrastructure.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Last element of a similar-products stream that was cut short by the latency budget
+public record PartialStreamResponse(
+        @JsonProperty("partial") boolean partial) {
+
+    public static final PartialStreamResponse INSTANCE = new PartialStreamResponse(true);
+}
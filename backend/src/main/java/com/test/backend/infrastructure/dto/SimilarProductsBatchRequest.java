@@ -0,0 +1,13 @@
+package com.test.backend.infrastructure.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public record SimilarProductsBatchRequest(
+        @JsonProperty("productIds") @NotEmpty @Size(max = 100) List<@NotBlank String> productIds) {
+}
@@ -0,0 +1,11 @@
+package com.test.backend.infrastructure.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record SimilarProductsResponse(
+        @JsonProperty("products") List<ProductResponse> products,
+
+        @JsonProperty("partial") boolean partial) {
+}
@@ -3,9 +3,11 @@ package com.test.backend.infrastructure.exception;
 import java.time.Instant;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import com.test.backend.domain.exception.ExternalApiException;
 import com.test.backend.domain.exception.ProductNotFoundException;
@@ -42,9 +44,10 @@ public class GlobalExceptionHandler {
                 String.valueOf(Instant.now()));
     }
 
-    @ExceptionHandler(ConstraintViolationException.class)
+    @ExceptionHandler({ ConstraintViolationException.class, MethodArgumentNotValidException.class,
+            HandlerMethodValidationException.class })
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorDto handleConstraintViolation(ConstraintViolationException ex) {
+    public ErrorDto handleConstraintViolation(Exception ex) {
         log.warn("Validation error: {}", ex.getMessage());
 
         return new ErrorDto(
@@ -1,9 +1,13 @@
 package com.test.backend.infrastructure.mapper;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.test.backend.domain.model.ProductDetail;
+import com.test.backend.domain.model.SimilarProducts;
 import com.test.backend.infrastructure.dto.ProductResponse;
+import com.test.backend.infrastructure.dto.SimilarProductsResponse;
 
 public class ProductRestMapper {
     private ProductRestMapper() {
@@ -37,4 +41,12 @@ public class ProductRestMapper {
                 .map(ProductRestMapper::toProductResponse)
                 .toList();
     }
+
+    public static Map<String, SimilarProductsResponse> toSimilarProductsResponseMap(
+            Map<String, SimilarProducts> similarProducts) {
+        Map<String, SimilarProductsResponse> responses = new LinkedHashMap<>();
+        similarProducts.forEach((productId, result) -> responses.put(productId,
+                new SimilarProductsResponse(toProductResponseList(result.products()), result.partial())));
+        return responses;
+    }
 }
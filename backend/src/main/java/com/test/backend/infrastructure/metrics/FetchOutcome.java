@@ -0,0 +1,20 @@
+package com.test.backend.infrastructure.metrics;
+
+public enum FetchOutcome {
+    HIT("hit"),
+    MISS("miss"),
+    NOT_FOUND("404"),
+    ERROR("error"),
+    FALLBACK("fallback"),
+    EJECTED("ejected");
+
+    private final String tag;
+
+    FetchOutcome(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
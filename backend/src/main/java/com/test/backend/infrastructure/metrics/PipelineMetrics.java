@@ -0,0 +1,69 @@
+package com.test.backend.infrastructure.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.test.backend.domain.port.output.SimilarProductsMetricsPort;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Per-stage meters of the similar products pipeline. Every meter publishes a percentile
+// histogram so that p95/p99 can be aggregated across instances instead of being averaged.
+@Component
+public class PipelineMetrics implements SimilarProductsMetricsPort {
+
+    private final Map<FetchOutcome, Timer> similarIdsFetch;
+    private final Map<FetchOutcome, Timer> productFetch;
+    private final DistributionSummary fanOut;
+    private final DistributionSummary unavailable;
+
+    public PipelineMetrics(MeterRegistry meterRegistry) {
+        this.similarIdsFetch = timers(meterRegistry, "similar.ids.fetch",
+                "Time to resolve the similar IDs of a product, cache included");
+        this.productFetch = timers(meterRegistry, "product.fetch",
+                "Time to resolve one similar product, cache included");
+        this.fanOut = DistributionSummary.builder("similar.products.fanout")
+                .description("Similar products fetched per request")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.unavailable = DistributionSummary.builder("similar.products.unavailable")
+                .description("Resolved similar products filtered out per request because they are not available")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public void recordSimilarIdsFetch(FetchOutcome outcome, long startNanos) {
+        similarIdsFetch.get(outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordProductFetch(FetchOutcome outcome, long startNanos) {
+        productFetch.get(outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordFanOut(int similarProducts) {
+        fanOut.record(similarProducts);
+    }
+
+    @Override
+    public void recordUnavailable(int unavailableProducts) {
+        unavailable.record(unavailableProducts);
+    }
+
+    private static Map<FetchOutcome, Timer> timers(MeterRegistry meterRegistry, String name, String description) {
+        Map<FetchOutcome, Timer> timers = new EnumMap<>(FetchOutcome.class);
+        for (FetchOutcome outcome : FetchOutcome.values()) {
+            timers.put(outcome, Timer.builder(name)
+                    .description(description)
+                    .tag("outcome", outcome.getTag())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        return timers;
+    }
+}
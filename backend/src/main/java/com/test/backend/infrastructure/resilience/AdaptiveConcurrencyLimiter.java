@@ -0,0 +1,171 @@
+package com.test.backend.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+// AIMD limit on the number of in-flight calls to one downstream endpoint. Every call that
+// answers within the latency threshold while the limit is in use grows the limit by one; a
+// failed or slow call multiplies it by the backoff ratio. Calls over the limit wait in a short
+// bounded queue and are rejected with ConcurrencyLimitExceededException when it is full or
+// when they have waited longer than max-wait, so overload surfaces in milliseconds instead of
+// after the connection pool's pending-acquire timeout.
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final int maxQueue;
+    private final Duration maxWait;
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+    private final Counter rejected;
+    private final Timer waitTime;
+
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(String name, ConcurrencyLimitProperties properties,
+            MeterRegistry meterRegistry) {
+        this.name = name;
+        this.enabled = properties.isEnabled();
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.maxQueue = properties.getMaxQueue();
+        this.maxWait = properties.getMaxWait();
+        this.limit = Math.clamp(properties.getInitialLimit(), minLimit, maxLimit);
+
+        Gauge.builder("concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder("concurrency.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Calls currently in flight")
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder("concurrency.queued", this, AdaptiveConcurrencyLimiter::getQueued)
+                .description("Calls waiting for a permit")
+                .tag("client", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("concurrency.rejected")
+                .description("Calls rejected because the queue was full or the wait timed out")
+                .tag("client", name)
+                .register(meterRegistry);
+        this.waitTime = Timer.builder("concurrency.wait")
+                .description("Time a call waited for a permit before being sent downstream")
+                .tag("client", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> limit(Supplier<Mono<T>> call) {
+        if (!enabled) {
+            return Mono.defer(call);
+        }
+
+        return Mono.defer(() -> {
+            long queuedAt = System.nanoTime();
+            return acquire().then(Mono.defer(() -> {
+                long start = System.nanoTime();
+                waitTime.record(start - queuedAt, TimeUnit.NANOSECONDS);
+                return call.get()
+                        .doOnSuccess(value -> onSample(System.nanoTime() - start, false))
+                        .doOnError(ex -> onSample(System.nanoTime() - start, true))
+                        .doFinally(signal -> release());
+            }));
+        });
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    private Mono<Void> acquire() {
+        return Mono.<Void>create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            sink.onCancel(() -> abandon(waiter));
+            synchronized (this) {
+                if (inFlight < (int) limit) {
+                    inFlight++;
+                    waiter.granted = true;
+                } else if (queue.size() < maxQueue) {
+                    queue.addLast(waiter);
+                    return;
+                } else {
+                    rejected.increment();
+                    sink.error(new ConcurrencyLimitExceededException(name));
+                    return;
+                }
+            }
+            sink.success();
+        }).timeout(maxWait, Mono.error(() -> {
+            rejected.increment();
+            return new ConcurrencyLimitExceededException(name);
+        }));
+    }
+
+    private void abandon(Waiter waiter) {
+        synchronized (this) {
+            if (!waiter.granted) {
+                queue.remove(waiter);
+                return;
+            }
+        }
+        // The permit was handed over while the waiter was being cancelled, give it back
+        release();
+    }
+
+    private void onSample(long rttNanos, boolean dropped) {
+        synchronized (this) {
+            if (dropped || rttNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (inFlight * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    private void release() {
+        Deque<Waiter> granted = new ArrayDeque<>();
+        synchronized (this) {
+            inFlight--;
+            while (inFlight < (int) limit && !queue.isEmpty()) {
+                Waiter waiter = queue.pollFirst();
+                waiter.granted = true;
+                inFlight++;
+                granted.add(waiter);
+            }
+        }
+        granted.forEach(waiter -> waiter.sink.success());
+    }
+
+    private static final class Waiter {
+        private final MonoSink<Void> sink;
+        private boolean granted;
+
+        private Waiter(MonoSink<Void> sink) {
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.test.backend.infrastructure.resilience;
+
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(String name) {
+        super("Concurrency limit exceeded for " + name);
+    }
+}
@@ -0,0 +1,17 @@
+package com.test.backend.infrastructure.resilience;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+@Data
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    private int initialLimit = 20;
+    private int minLimit = 5;
+    private int maxLimit = 200;
+    private double backoffRatio = 0.9;
+    private Duration latencyThreshold = Duration.ofSeconds(1);
+    private int maxQueue = 100;
+    private Duration maxWait = Duration.ofMillis(100);
+}
@@ -0,0 +1,9 @@
+package com.test.backend.infrastructure.resilience;
+
+import java.time.Instant;
+
+public record EjectedKey(
+        String key,
+        Instant ejectedUntil,
+        int ejections) {
+}
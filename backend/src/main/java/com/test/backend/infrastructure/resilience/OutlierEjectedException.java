@@ -0,0 +1,8 @@
+package com.test.backend.infrastructure.resilience;
+
+public class OutlierEjectedException extends RuntimeException {
+
+    public OutlierEjectedException(String name, String key) {
+        super("Key " + key + " is ejected from " + name);
+    }
+}
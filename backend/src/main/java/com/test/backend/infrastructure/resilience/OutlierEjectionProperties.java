@@ -0,0 +1,16 @@
+package com.test.backend.infrastructure.resilience;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+@Data
+public class OutlierEjectionProperties {
+    private boolean enabled = true;
+    private int consecutiveFailures = 3;
+    private Duration slowCallThreshold = Duration.ofSeconds(2);
+    private Duration ejectionTime = Duration.ofSeconds(30);
+    private Duration maxEjectionTime = Duration.ofMinutes(5);
+    private int maxEjected = 100;
+    private int trackedKeys = 10_000;
+}
@@ -0,0 +1,21 @@
+package com.test.backend.infrastructure.resilience;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+@Endpoint(id = "outlierejections")
+public class OutlierEjectionsEndpoint {
+
+    private final OutlierEjector productApiEjector;
+
+    public OutlierEjectionsEndpoint(OutlierEjector productApiEjector) {
+        this.productApiEjector = productApiEjector;
+    }
+
+    @ReadOperation
+    public List<EjectedKey> ejected() {
+        return productApiEjector.ejectedKeys();
+    }
+}
@@ -0,0 +1,159 @@
+package com.test.backend.infrastructure.resilience;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+// Per-key outlier detection for one downstream endpoint. A key whose calls fail or take longer
+// than the slow-call threshold several times in a row is ejected for a cooling period, so one
+// broken product stops costing timeouts (and circuit breaker failures) to everyone else while
+// healthy keys keep flowing. Once the period is over the next call is a probe: if it fails
+// again the key is ejected at once for a longer period, up to the maximum; a good call clears it.
+// At most max-ejected keys are ejected at a time, so a real outage is left to the circuit breaker.
+@Slf4j
+public class OutlierEjector {
+
+    private final String name;
+    private final boolean enabled;
+    private final int consecutiveFailures;
+    private final long slowCallThresholdNanos;
+    private final Duration ejectionTime;
+    private final Duration maxEjectionTime;
+    private final int maxEjected;
+    private final Clock clock;
+    private final Cache<String, KeyHealth> health;
+    private final Map<String, EjectedKey> ejected = new ConcurrentHashMap<>();
+    private final Counter ejections;
+
+    public OutlierEjector(String name, OutlierEjectionProperties properties, Clock clock,
+            MeterRegistry meterRegistry) {
+        this.name = name;
+        this.enabled = properties.isEnabled();
+        this.consecutiveFailures = properties.getConsecutiveFailures();
+        this.slowCallThresholdNanos = properties.getSlowCallThreshold().toNanos();
+        this.ejectionTime = properties.getEjectionTime();
+        this.maxEjectionTime = properties.getMaxEjectionTime();
+        this.maxEjected = properties.getMaxEjected();
+        this.clock = clock;
+        // Only keys that failed recently need a record; healthy ones age out
+        this.health = Caffeine.newBuilder()
+                .maximumSize(properties.getTrackedKeys())
+                .expireAfterAccess(maxEjectionTime.multipliedBy(2))
+                .build();
+
+        Gauge.builder("outlier.ejected", ejected, Map::size)
+                .description("Keys currently ejected")
+                .tag("client", name)
+                .register(meterRegistry);
+        this.ejections = Counter.builder("outlier.ejections")
+                .description("Times a key was ejected after consecutive failed or slow calls")
+                .tag("client", name)
+                .register(meterRegistry);
+    }
+
+    public static OutlierEjector disabled(MeterRegistry meterRegistry) {
+        OutlierEjectionProperties properties = new OutlierEjectionProperties();
+        properties.setEnabled(false);
+        return new OutlierEjector("disabled", properties, Clock.systemUTC(), meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEjected(String key) {
+        if (!enabled) {
+            return false;
+        }
+        EjectedKey entry = ejected.get(key);
+        if (entry == null) {
+            return false;
+        }
+        if (clock.instant().isBefore(entry.ejectedUntil())) {
+            return true;
+        }
+        ejected.remove(key, entry);
+        return false;
+    }
+
+    // Rejections of the concurrency limiter say nothing about the key and are not counted
+    public <T> Mono<T> track(String key, Supplier<Mono<T>> call) {
+        if (!enabled) {
+            return Mono.defer(call);
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.get()
+                    .doOnSuccess(value -> record(key, System.nanoTime() - start > slowCallThresholdNanos))
+                    .doOnError(ex -> {
+                        if (!(ex instanceof ConcurrencyLimitExceededException)) {
+                            record(key, true);
+                        }
+                    });
+        });
+    }
+
+    public List<EjectedKey> ejectedKeys() {
+        Instant now = clock.instant();
+        return ejected.values().stream()
+                .filter(entry -> now.isBefore(entry.ejectedUntil()))
+                .sorted(Comparator.comparing(EjectedKey::ejectedUntil))
+                .toList();
+    }
+
+    private void record(String key, boolean bad) {
+        if (!bad) {
+            KeyHealth current = health.getIfPresent(key);
+            if (current != null) {
+                health.invalidate(key);
+            }
+            return;
+        }
+        KeyHealth keyHealth = health.get(key, k -> new KeyHealth());
+        EjectedKey ejection;
+        synchronized (keyHealth) {
+            keyHealth.consecutiveFailures++;
+            if (keyHealth.consecutiveFailures < consecutiveFailures || isEjected(key) || !hasRoom()) {
+                return;
+            }
+            keyHealth.ejections++;
+            Duration duration = ejectionTime.multipliedBy(keyHealth.ejections);
+            if (duration.compareTo(maxEjectionTime) > 0) {
+                duration = maxEjectionTime;
+            }
+            ejection = new EjectedKey(key, clock.instant().plus(duration), keyHealth.ejections);
+            ejected.put(key, ejection);
+        }
+        ejections.increment();
+        log.warn("Ejecting {} from {} until {} after {} consecutive failed or slow calls", key, name,
+                ejection.ejectedUntil(), consecutiveFailures);
+    }
+
+    private boolean hasRoom() {
+        if (ejected.size() < maxEjected) {
+            return true;
+        }
+        Instant now = clock.instant();
+        ejected.values().removeIf(entry -> !now.isBefore(entry.ejectedUntil()));
+        return ejected.size() < maxEjected;
+    }
+
+    private static final class KeyHealth {
+        private int consecutiveFailures;
+        private int ejections;
+    }
+}
@@ -0,0 +1,140 @@
+package com.test.backend.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import reactor.core.publisher.Mono;
+
+// Sends a second identical request when the first one has not answered within the given
+// percentile of recently observed latencies; the first signal wins and the loser is cancelled.
+// Hedges are paid for from a token budget refilled by a fraction of every request, so during an
+// incident, when everything is slow, hedging cannot add more than that fraction of extra load.
+public class RequestHedger {
+
+    private static final long MILLI_TOKENS_PER_HEDGE = 1000;
+    private static final long MAX_MILLI_TOKENS = 10 * MILLI_TOKENS_PER_HEDGE;
+    private static final long DELAY_RECOMPUTE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final Duration minDelay;
+    private final Duration maxDelay;
+    private final long milliTokensPerRequest;
+    private final AtomicLong milliTokens = new AtomicLong(MAX_MILLI_TOKENS);
+    private final Timer latency;
+    private final Counter fired;
+    private final Counter won;
+    private final Counter throttled;
+
+    private volatile Duration hedgeDelay;
+    private volatile long hedgeDelayComputedAt;
+
+    public RequestHedger(String name, boolean enabled, double percentile, Duration minDelay, Duration maxDelay,
+            double maxHedgeRatio, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.minDelay = minDelay;
+        this.maxDelay = maxDelay;
+        this.milliTokensPerRequest = Math.round(maxHedgeRatio * MILLI_TOKENS_PER_HEDGE);
+        this.hedgeDelay = maxDelay;
+        this.hedgeDelayComputedAt = System.nanoTime();
+        this.latency = Timer.builder("hedge.latency")
+                .description("Latency of hedgeable downstream calls, used to derive the hedge delay")
+                .tag("client", name)
+                .publishPercentiles(percentile)
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .register(meterRegistry);
+        this.fired = hedgeCounter(meterRegistry, name, "fired");
+        this.won = hedgeCounter(meterRegistry, name, "won");
+        this.throttled = hedgeCounter(meterRegistry, name, "throttled");
+    }
+
+    public static RequestHedger disabled(MeterRegistry meterRegistry) {
+        return new RequestHedger("disabled", false, 0.95, Duration.ZERO, Duration.ZERO, 0, meterRegistry);
+    }
+
+    public <T> Mono<T> hedge(Supplier<Mono<T>> call) {
+        if (!enabled) {
+            return Mono.defer(call);
+        }
+
+        return Mono.defer(() -> {
+            depositTokens();
+
+            Mono<T> hedged = Mono.delay(currentHedgeDelay())
+                    .flatMap(tick -> {
+                        if (!tryWithdrawToken()) {
+                            throttled.increment();
+                            return Mono.<T>never();
+                        }
+                        fired.increment();
+                        return timed(call, false)
+                                .doOnNext(value -> won.increment())
+                                .onErrorResume(ex -> Mono.never());
+                    });
+
+            return Mono.firstWithSignal(timed(call, true), hedged);
+        });
+    }
+
+    public Duration currentHedgeDelay() {
+        long now = System.nanoTime();
+        if (now - hedgeDelayComputedAt > DELAY_RECOMPUTE_INTERVAL_NANOS) {
+            hedgeDelay = computeHedgeDelay();
+            hedgeDelayComputedAt = now;
+        }
+        return hedgeDelay;
+    }
+
+    private Duration computeHedgeDelay() {
+        ValueAtPercentile[] percentiles = latency.takeSnapshot().percentileValues();
+        if (percentiles.length == 0 || latency.count() == 0) {
+            return maxDelay;
+        }
+        Duration observed = Duration.ofNanos((long) percentiles[0].value(TimeUnit.NANOSECONDS));
+        if (observed.compareTo(minDelay) < 0) {
+            return minDelay;
+        }
+        return observed.compareTo(maxDelay) > 0 ? maxDelay : observed;
+    }
+
+    // A first attempt that loses to its hedge is cancelled; the time it had run by then is still
+    // recorded, otherwise the slow calls that trigger hedges would drop out of the percentile
+    private <T> Mono<T> timed(Supplier<Mono<T>> call, boolean recordCancelled) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            Mono<T> timed = call.get()
+                    .doOnSuccess(value -> latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+            return recordCancelled
+                    ? timed.doOnCancel(() -> latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    : timed;
+        });
+    }
+
+    private void depositTokens() {
+        milliTokens.accumulateAndGet(milliTokensPerRequest, (current, deposit) -> Math.min(MAX_MILLI_TOKENS, current + deposit));
+    }
+
+    private boolean tryWithdrawToken() {
+        long current;
+        do {
+            current = milliTokens.get();
+            if (current < MILLI_TOKENS_PER_HEDGE) {
+                return false;
+            }
+        } while (!milliTokens.compareAndSet(current, current - MILLI_TOKENS_PER_HEDGE));
+        return true;
+    }
+
+    private static Counter hedgeCounter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("hedge.requests")
+                .description("Hedged requests fired, won by the hedge, or skipped because the hedge budget was spent")
+                .tag("client", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -1,29 +1,47 @@
 package com.test.backend.infrastructure.rest.controller;
 
-import java.util.List;
+import java.util.Map;
 
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.test.backend.domain.model.ProductDetail;
 import com.test.backend.domain.port.input.GetSimilarProductsUseCase;
+import com.test.backend.infrastructure.dto.PartialStreamResponse;
 import com.test.backend.infrastructure.dto.ProductResponse;
+import com.test.backend.infrastructure.dto.SimilarProductsBatchRequest;
+import com.test.backend.infrastructure.dto.SimilarProductsResponse;
 import com.test.backend.infrastructure.mapper.ProductRestMapper;
+import com.test.backend.infrastructure.rest.response.ResponseCompression;
+import com.test.backend.infrastructure.rest.response.SimilarProductsResponses;
+import com.test.backend.infrastructure.timeline.RequestTimeline;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @Validated
@@ -32,26 +50,128 @@ import org.springframework.validation.annotation.Validated;
 @RequiredArgsConstructor
 @Tag(name = "Product Controller", description = "APIs for product management")
 public class ProductController {
+    public static final String PARTIAL_RESPONSE_HEADER = "X-Partial-Response";
+    public static final String PARTIAL_EVENT = "partial";
+
     private final GetSimilarProductsUseCase getSimilarProductsUseCase;
+    private final SimilarProductsResponses similarProductsResponses;
 
     @Operation(summary = "Get similar products", description = "Retrieves a list of similar products for a given product ID. "
             +
             "Returns products with similar characteristics, filtered by availability. " +
             "Uses caching for improved performance and circuit breaker for resilience.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved similar products. Returns an empty array if no similar products are available or all are unavailable.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductResponse.class))),
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved similar products. Returns an empty array if no similar products are available or all are unavailable.", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductResponse.class)), headers = @Header(name = PARTIAL_RESPONSE_HEADER, description = "Present and set to true when the latency budget ran out and only the products resolved in time are returned.")),
+            @ApiResponse(responseCode = "304", description = "Not modified. The similar products still match the ETag sent in If-None-Match."),
             @ApiResponse(responseCode = "404", description = "Product not found. The external API does not have a record of the requested product."),
             @ApiResponse(responseCode = "500", description = "Internal server error. An unexpected error occurred processing the request."),
             @ApiResponse(responseCode = "503", description = "Service unavailable. The external product API is currently unavailable or unreachable.")
     })
     @GetMapping("/{productId}/similar")
-    public ResponseEntity<List<ProductResponse>> getSimilarProducts(
-            @Parameter(description = "Product ID to find similar products for", required = true, example = "1") @NotBlank @PathVariable String productId) {
+    public Mono<ResponseEntity<byte[]>> getSimilarProducts(
+            @Parameter(description = "Product ID to find similar products for", required = true, example = "1") @NotBlank @PathVariable String productId,
+            @Parameter(description = "ETags of a previously received response") @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(description = "Content codings the client accepts; gzip and deflate bodies are served precompressed") @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @Parameter(hidden = true) @RequestAttribute(name = RequestTimeline.ATTRIBUTE, required = false) RequestTimeline timeline) {
         log.info("GET /product/{}/similar called", productId);
 
-        List<ProductDetail> products = getSimilarProductsUseCase.execute(productId);
-        List<ProductResponse> response = ProductRestMapper.toProductResponseList(products);
+        // The body is already serialized, possibly by an earlier request for the same product. With
+        // the response cache, a revalidation is answered without any downstream call until one of
+        // the cache entries behind the body changes.
+        return similarProductsResponses.get(productId)
+                .map(body -> {
+                    String encoding = ResponseCompression.negotiate(acceptEncoding, body.encoded().keySet());
+                    String etag = body.etag(encoding);
+                    if (etag != null && matchesAny(ifNoneMatch, etag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(etag)
+                                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                                .<byte[]>build();
+                    }
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                    if (etag != null) {
+                        response.eTag(etag);
+                    }
+                    if (encoding != null) {
+                        response.header(HttpHeaders.CONTENT_ENCODING, encoding);
+                    }
+                    if (body.partial()) {
+                        response.header(PARTIAL_RESPONSE_HEADER, "true");
+                    }
+                    return response.body(body.content(encoding));
+                })
+                .contextWrite(RequestTimeline.bind(timeline));
+    }
+
+    @Operation(summary = "Stream similar products", description = "Streams the available similar products of a given product ID "
+            +
+            "as NDJSON. Products are written in similarity order as soon as every better ranked product is resolved. " +
+            "If the latency budget runs out first, the last line is {\"partial\":true}.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream of similar products, one per line.", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = ProductResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Product not found. The external API does not have a record of the requested product."),
+            @ApiResponse(responseCode = "503", description = "Service unavailable. The external product API is currently unavailable or unreachable.")
+    })
+    @GetMapping(value = "/{productId}/similar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> streamSimilarProducts(
+            @Parameter(description = "Product ID to find similar products for", required = true, example = "1") @NotBlank @PathVariable String productId,
+            @Parameter(hidden = true) @RequestAttribute(name = RequestTimeline.ATTRIBUTE, required = false) RequestTimeline timeline) {
+        log.info("GET /product/{}/similar called (NDJSON)", productId);
+
+        return getSimilarProductsUseCase.stream(productId)
+                .<Object>map(item -> item.partial()
+                        ? PartialStreamResponse.INSTANCE
+                        : ProductRestMapper.toProductResponse(item.product()))
+                .contextWrite(RequestTimeline.bind(timeline));
+    }
+
+    @Operation(summary = "Stream similar products as server-sent events", description = "Streams the available similar products of a given product ID "
+            +
+            "as server-sent events, in similarity order. If the latency budget runs out first, a final event named partial is sent.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream of similar products, one per event.", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = ProductResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Product not found. The external API does not have a record of the requested product."),
+            @ApiResponse(responseCode = "503", description = "Service unavailable. The external product API is currently unavailable or unreachable.")
+    })
+    @GetMapping(value = "/{productId}/similar", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamSimilarProductEvents(
+            @Parameter(description = "Product ID to find similar products for", required = true, example = "1") @NotBlank @PathVariable String productId,
+            @Parameter(hidden = true) @RequestAttribute(name = RequestTimeline.ATTRIBUTE, required = false) RequestTimeline timeline) {
+        log.info("GET /product/{}/similar called (SSE)", productId);
+
+        return getSimilarProductsUseCase.stream(productId)
+                .map(item -> item.partial()
+                        ? ServerSentEvent.<Object>builder(PartialStreamResponse.INSTANCE).event(PARTIAL_EVENT).build()
+                        : ServerSentEvent.<Object>builder(ProductRestMapper.toProductResponse(item.product())).build())
+                .contextWrite(RequestTimeline.bind(timeline));
+    }
+
+    @Operation(summary = "Get similar products for many products", description = "Retrieves the similar products of every given product ID in one call. "
+            +
+            "Each distinct similar product is fetched once for the whole batch. Product IDs that do not exist are left out of the result.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Similar products keyed by source product ID. An entry is flagged as partial when its similar products could not all be resolved in time."),
+            @ApiResponse(responseCode = "400", description = "Invalid request. The list of product IDs is empty, too long or contains blank IDs."),
+            @ApiResponse(responseCode = "500", description = "Internal server error. An unexpected error occurred processing the request.")
+    })
+    @PostMapping("/similar:batch")
+    public Mono<Map<String, SimilarProductsResponse>> getSimilarProductsBatch(
+            @Valid @RequestBody SimilarProductsBatchRequest request) {
+        log.info("POST /product/similar:batch called for {} products", request.productIds().size());
+
+        return getSimilarProductsUseCase.executeBatch(request.productIds())
+                .map(ProductRestMapper::toSimilarProductsResponseMap);
+    }
 
-        return ResponseEntity.ok(response);
+    // If-None-Match uses the weak comparison
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        ETag current = new ETag(etag, false);
+        return ETag.parse(ifNoneMatch).stream()
+                .anyMatch(candidate -> candidate.isWildcard() || candidate.compare(current, false));
     }
 }
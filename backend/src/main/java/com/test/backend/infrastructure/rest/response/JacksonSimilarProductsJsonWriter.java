@@ -0,0 +1,32 @@
+package com.test.backend.infrastructure.rest.response;
+
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.test.backend.domain.model.ProductDetail;
+import com.test.backend.infrastructure.dto.ProductResponse;
+import com.test.backend.infrastructure.mapper.ProductRestMapper;
+
+// Uses the application ObjectMapper, so the bytes are the ones Spring MVC would write for the
+// same list of ProductResponse
+public class JacksonSimilarProductsJsonWriter implements SimilarProductsJsonWriter {
+
+    private final ObjectWriter writer;
+
+    public JacksonSimilarProductsJsonWriter(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(new TypeReference<List<ProductResponse>>() {
+        });
+    }
+
+    @Override
+    public byte[] write(List<ProductDetail> products) {
+        try {
+            return writer.writeValueAsBytes(ProductRestMapper.toProductResponseList(products));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize similar products", ex);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.test.backend.infrastructure.rest.response;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Compressed variants of a response body, keyed by content coding in order of preference. They
+// are made once per rendered body, so with the response cache a popular body is compressed once
+// per change instead of once per request. Bodies under the minimum size are left uncompressed:
+// the coding overhead would outweigh the saving.
+public class ResponseCompression {
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    private static final String IDENTITY = "identity";
+    private static final String ANY = "*";
+
+    private final List<String> encodings;
+    private final int minSize;
+
+    public ResponseCompression(List<String> encodings, int minSize) {
+        this.encodings = List.copyOf(encodings);
+        this.minSize = minSize;
+    }
+
+    public static ResponseCompression none() {
+        return new ResponseCompression(List.of(), 0);
+    }
+
+    public Map<String, byte[]> compress(byte[] body) {
+        if (encodings.isEmpty() || body.length < minSize) {
+            return Map.of();
+        }
+        Map<String, byte[]> variants = new LinkedHashMap<>();
+        for (String encoding : encodings) {
+            variants.put(encoding, compress(encoding, body));
+        }
+        return Collections.unmodifiableMap(variants);
+    }
+
+    // The available coding with the highest q-value in Accept-Encoding, or null for identity.
+    // Ties go to the first available coding; a coding is never picked over an identity the
+    // client explicitly ranks higher.
+    public static String negotiate(String acceptEncoding, Set<String> available) {
+        if (acceptEncoding == null || available.isEmpty()) {
+            return null;
+        }
+        Map<String, Double> qualities = new LinkedHashMap<>();
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!coding.isEmpty()) {
+                qualities.put(coding, quality(parts));
+            }
+        }
+        double identity = qualities.getOrDefault(IDENTITY, 0.0);
+        String best = null;
+        double bestQuality = 0;
+        for (String coding : available) {
+            double quality = qualities.getOrDefault(coding, qualities.getOrDefault(ANY, 0.0));
+            if (quality > bestQuality) {
+                best = coding;
+                bestQuality = quality;
+            }
+        }
+        return best != null && bestQuality >= identity ? best : null;
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1.0;
+    }
+
+    private static byte[] compress(String encoding, byte[] body) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 2);
+        try (OutputStream out = switch (encoding) {
+            case GZIP -> new GZIPOutputStream(buffer);
+            case DEFLATE -> new DeflaterOutputStream(buffer);
+            default -> throw new IllegalArgumentException("Unsupported content coding: " + encoding);
+        }) {
+            out.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,21 @@
+package com.test.backend.infrastructure.rest.response;
+
+import java.util.Map;
+
+// Ready-to-write JSON body of GET /product/{id}/similar, with its compressed variants keyed by
+// content coding. Partial bodies have no ETag: they are not a stable representation of the
+// product's similar products.
+public record SimilarProductsBody(byte[] json, boolean partial, String etag, Map<String, byte[]> encoded) {
+
+    public byte[] content(String encoding) {
+        return encoding == null ? json : encoded.get(encoding);
+    }
+
+    // Each coding is a different representation and needs its own strong ETag
+    public String etag(String encoding) {
+        if (etag == null || encoding == null) {
+            return etag;
+        }
+        return etag + "-" + encoding;
+    }
+}
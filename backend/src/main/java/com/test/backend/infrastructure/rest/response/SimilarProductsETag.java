@@ -0,0 +1,41 @@
+package com.test.backend.infrastructure.rest.response;
+
+import java.util.List;
+
+import com.test.backend.domain.model.ProductDetail;
+
+// Strong ETag of a similar-products list, unquoted: a 64-bit FNV-1a hash over every field that
+// shows up in the body, in order. It depends only on the products, so every instance computes
+// the same tag for the same list.
+public final class SimilarProductsETag {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private SimilarProductsETag() {
+    }
+
+    public static String of(List<ProductDetail> products) {
+        long hash = OFFSET_BASIS;
+        for (ProductDetail product : products) {
+            hash = hash(hash, product.id());
+            hash = hash(hash, product.name());
+            hash = hash(hash, product.price().toString());
+            hash = hash(hash, product.availability() ? '1' : '0');
+        }
+        return Long.toHexString(hash);
+    }
+
+    // Each value ends with a separator that cannot be confused with a char of the next one
+    private static long hash(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = hash(hash, value.charAt(i));
+        }
+        return hash(hash, '\uffff');
+    }
+
+    private static long hash(long hash, char value) {
+        hash = (hash ^ (value & 0xff)) * PRIME;
+        return (hash ^ (value >>> 8)) * PRIME;
+    }
+}
@@ -0,0 +1,11 @@
+package com.test.backend.infrastructure.rest.response;
+
+import java.util.List;
+
+import com.test.backend.domain.model.ProductDetail;
+
+// Serializes the JSON array of ProductResponse returned by GET /product/{id}/similar
+public interface SimilarProductsJsonWriter {
+
+    byte[] write(List<ProductDetail> products);
+}
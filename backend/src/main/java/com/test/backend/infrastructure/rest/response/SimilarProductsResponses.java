@@ -0,0 +1,120 @@
+package com.test.backend.infrastructure.rest.response;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.test.backend.domain.port.input.GetSimilarProductsUseCase;
+import com.test.backend.infrastructure.cache.CacheDependencies;
+import com.test.backend.infrastructure.cache.ReactiveCache;
+import com.test.backend.infrastructure.cache.ReactiveCacheFactory;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+// Rendered bodies of GET /product/{id}/similar. With a cache factory the bodies are cached per
+// source product, so a repeated request is a map lookup and concurrent identical requests share
+// one fan-out. A body is dropped as soon as any cache entry it was built from changes: the
+// similar IDs of the source and every similar product, found or not.
+@Slf4j
+public class SimilarProductsResponses {
+
+    public static final String CACHE_NAME = "similarProductsResponses";
+
+    private final GetSimilarProductsUseCase getSimilarProductsUseCase;
+    private final SimilarProductsJsonWriter jsonWriter;
+    private final ResponseCompression compression;
+    private final ReactiveCache<SimilarProductsBody> cache;
+    // Source products whose cached body was built from each dependency key. Entries for bodies
+    // that were evicted meanwhile are harmless and go away when the dependency itself expires.
+    private final Map<String, Set<String>> dependents = new ConcurrentHashMap<>();
+    // Complete bodies built while one of their dependencies changed, to be discarded once served
+    private final Set<SimilarProductsBody> stale = ConcurrentHashMap.newKeySet();
+    private final AtomicLong changes = new AtomicLong();
+
+    public SimilarProductsResponses(GetSimilarProductsUseCase getSimilarProductsUseCase,
+            SimilarProductsJsonWriter jsonWriter) {
+        this(getSimilarProductsUseCase, jsonWriter, ResponseCompression.none(), null);
+    }
+
+    public SimilarProductsResponses(GetSimilarProductsUseCase getSimilarProductsUseCase,
+            SimilarProductsJsonWriter jsonWriter, ReactiveCacheFactory cacheFactory) {
+        this(getSimilarProductsUseCase, jsonWriter, ResponseCompression.none(), cacheFactory);
+    }
+
+    public SimilarProductsResponses(GetSimilarProductsUseCase getSimilarProductsUseCase,
+            SimilarProductsJsonWriter jsonWriter, ResponseCompression compression,
+            ReactiveCacheFactory cacheFactory) {
+        this.getSimilarProductsUseCase = getSimilarProductsUseCase;
+        this.jsonWriter = jsonWriter;
+        this.compression = compression;
+        if (cacheFactory == null) {
+            this.cache = null;
+            return;
+        }
+        this.cache = cacheFactory.create(CACHE_NAME, this::render);
+        cacheFactory.addChangeListener(this::onCacheChange);
+    }
+
+    // Bodies that must not be kept are still returned to every caller waiting for them and are
+    // discarded afterwards, outside the load
+    public Mono<SimilarProductsBody> get(String productId) {
+        if (cache == null) {
+            return render(productId);
+        }
+        return cache.get(productId)
+                .doOnNext(body -> {
+                    if (body.partial() || stale.remove(body)) {
+                        cache.discard(productId, body);
+                    }
+                });
+    }
+
+    // Runs once per cache miss or refresh; the cache keys the fan-out reads are collected on the way
+    private Mono<SimilarProductsBody> render(String productId) {
+        return Mono.defer(() -> {
+            long changesBefore = changes.get();
+            CacheDependencies dependencies = new CacheDependencies();
+            return getSimilarProductsUseCase.execute(productId)
+                    .map(similarProducts -> {
+                        byte[] json = jsonWriter.write(similarProducts.products());
+                        return new SimilarProductsBody(json, similarProducts.partial(),
+                                similarProducts.partial() ? null : SimilarProductsETag.of(similarProducts.products()),
+                                compression.compress(json));
+                    })
+                    .doOnNext(body -> track(productId, body, dependencies, changesBefore))
+                    .contextWrite(CacheDependencies.bind(dependencies));
+        });
+    }
+
+    private void track(String productId, SimilarProductsBody body, CacheDependencies dependencies,
+            long changesBefore) {
+        if (cache == null) {
+            return;
+        }
+        if (body.partial()) {
+            return;
+        }
+        dependencies.keys().stream()
+                .filter(key -> !key.startsWith(CACHE_NAME + "/"))
+                .forEach(key -> dependents.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(productId));
+        if (changes.get() != changesBefore) {
+            // A dependency may have changed after it was read; registered first so that a change
+            // arriving from now on is not missed either
+            stale.add(body);
+        }
+    }
+
+    private void onCacheChange(String cacheName, String key) {
+        if (CACHE_NAME.equals(cacheName)) {
+            return;
+        }
+        changes.incrementAndGet();
+        Set<String> sources = dependents.remove(CacheDependencies.key(cacheName, key));
+        if (sources != null) {
+            log.debug("Cache entry {}/{} changed, dropping responses of {}", cacheName, key, sources);
+            sources.forEach(cache::invalidate);
+        }
+    }
+}
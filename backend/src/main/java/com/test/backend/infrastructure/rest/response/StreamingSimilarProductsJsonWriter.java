@@ -0,0 +1,58 @@
+package com.test.backend.infrastructure.rest.response;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.backend.domain.model.ProductDetail;
+
+// Writes each ProductDetail straight into the output buffer with the Jackson streaming API,
+// without the ProductResponse list or the reflective bean serializer. The generator comes from
+// the application ObjectMapper, so escaping, number format and indentation match what
+// JacksonSimilarProductsJsonWriter produces. Fields are written in ProductResponse order.
+public class StreamingSimilarProductsJsonWriter implements SimilarProductsJsonWriter {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString PRICE = new SerializedString("price");
+    private static final SerializableString AVAILABILITY = new SerializedString("availability");
+
+    // Typical size of a serialized product, to avoid growing the buffer for short lists
+    private static final int BYTES_PER_PRODUCT = 80;
+
+    private final ObjectMapper objectMapper;
+
+    public StreamingSimilarProductsJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public byte[] write(List<ProductDetail> products) {
+        try (ByteArrayBuilder buffer = new ByteArrayBuilder(Math.max(2, products.size() * BYTES_PER_PRODUCT))) {
+            try (JsonGenerator generator = objectMapper.createGenerator(buffer, JsonEncoding.UTF8)) {
+                generator.writeStartArray(products, products.size());
+                for (ProductDetail product : products) {
+                    generator.writeStartObject(product);
+                    generator.writeFieldName(ID);
+                    generator.writeString(product.id());
+                    generator.writeFieldName(NAME);
+                    generator.writeString(product.name());
+                    generator.writeFieldName(PRICE);
+                    generator.writeNumber(product.price());
+                    generator.writeFieldName(AVAILABILITY);
+                    generator.writeBoolean(product.availability());
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+            return buffer.toByteArray();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not serialize similar products", ex);
+        }
+    }
+}
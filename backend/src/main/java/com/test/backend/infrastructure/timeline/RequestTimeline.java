@@ -0,0 +1,68 @@
+package com.test.backend.infrastructure.timeline;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.test.backend.infrastructure.metrics.FetchOutcome;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+// Events of one request, collected from the threads that resolve its downstream calls. The
+// timeline travels from the servlet filter to the controller as a request attribute and from
+// there down to the clients in the Reactor context.
+public class RequestTimeline {
+
+    public static final String ATTRIBUTE = "com.test.backend.infrastructure.timeline.RequestTimeline";
+
+    private final String path;
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final Function<String, String> circuitBreakerState;
+    private final Queue<TimelineEvent> events = new ConcurrentLinkedQueue<>();
+    private final AtomicLong bytesWritten = new AtomicLong();
+
+    public RequestTimeline(String path, Function<String, String> circuitBreakerState) {
+        this.path = path;
+        this.circuitBreakerState = circuitBreakerState;
+    }
+
+    public static Optional<RequestTimeline> from(ContextView context) {
+        return context.getOrEmpty(RequestTimeline.class);
+    }
+
+    public static Function<Context, Context> bind(RequestTimeline timeline) {
+        return context -> timeline == null ? context : context.put(RequestTimeline.class, timeline);
+    }
+
+    public void record(String stage, String key, String circuitBreaker, FetchOutcome outcome, long fromNanos) {
+        long toNanos = System.nanoTime();
+        events.add(new TimelineEvent(stage, key, outcome.getTag(), circuitBreakerState.apply(circuitBreaker),
+                offsetMicros(fromNanos), offsetMicros(toNanos)));
+    }
+
+    public void addBytesWritten(long bytes) {
+        bytesWritten.addAndGet(bytes);
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public SlowRequest toSlowRequest(int status) {
+        return new SlowRequest(path, startedAt, TimeUnit.NANOSECONDS.toMillis(elapsedNanos()), status,
+                bytesWritten.get(), events.stream()
+                        .sorted(Comparator.comparingLong(TimelineEvent::startOffsetMicros))
+                        .toList());
+    }
+
+    private long offsetMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos - startNanos);
+    }
+}
@@ -0,0 +1,13 @@
+package com.test.backend.infrastructure.timeline;
+
+import java.time.Instant;
+import java.util.List;
+
+public record SlowRequest(
+        String path,
+        Instant startedAt,
+        long durationMillis,
+        int status,
+        long bytesWritten,
+        List<TimelineEvent> events) {
+}
@@ -0,0 +1,138 @@
+package com.test.backend.infrastructure.timeline;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+// Opens a timeline for every similar products request and hands it to the slow request log
+// once the response is complete. The controller returns a Mono or a Flux, so the request
+// usually goes async and completes after this filter has returned.
+public class SlowRequestFilter extends OncePerRequestFilter {
+
+    private static final Pattern SIMILAR_PRODUCTS = Pattern.compile("/product/[^/]+/similar");
+
+    private final SlowRequestLog slowRequestLog;
+
+    public SlowRequestFilter(SlowRequestLog slowRequestLog) {
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !SIMILAR_PRODUCTS.matcher(request.getRequestURI()).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTimeline timeline = slowRequestLog.start(request.getRequestURI());
+        request.setAttribute(RequestTimeline.ATTRIBUTE, timeline);
+
+        chain.doFilter(request, new CountingResponse(response, timeline));
+
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new CompletionListener(timeline, response));
+        } else {
+            slowRequestLog.complete(timeline, response.getStatus());
+        }
+    }
+
+    private final class CompletionListener implements AsyncListener {
+        private final RequestTimeline timeline;
+        private final HttpServletResponse response;
+
+        private CompletionListener(RequestTimeline timeline, HttpServletResponse response) {
+            this.timeline = timeline;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            slowRequestLog.complete(timeline, response.getStatus());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+        private final RequestTimeline timeline;
+        private ServletOutputStream outputStream;
+
+        private CountingResponse(HttpServletResponse response, RequestTimeline timeline) {
+            super(response);
+            this.timeline = timeline;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream(), timeline);
+            }
+            return outputStream;
+        }
+    }
+
+    private static final class CountingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+        private final RequestTimeline timeline;
+
+        private CountingOutputStream(ServletOutputStream delegate, RequestTimeline timeline) {
+            this.delegate = delegate;
+            this.timeline = timeline;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            timeline.addBytesWritten(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            timeline.addBytesWritten(len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
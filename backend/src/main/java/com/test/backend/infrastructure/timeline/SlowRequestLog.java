@@ -0,0 +1,65 @@
+package com.test.backend.infrastructure.timeline;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Ring buffer with the timelines of the last requests that went over the threshold. Requests
+// under it are dropped as soon as they complete, so the cost for them is the timeline itself.
+public class SlowRequestLog {
+
+    private final long thresholdNanos;
+    private final SlowRequest[] buffer;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final Counter slowRequests;
+
+    private int next;
+    private int size;
+
+    public SlowRequestLog(SlowRequestProperties properties, CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry) {
+        this.thresholdNanos = properties.getThreshold().toNanos();
+        this.buffer = new SlowRequest[Math.max(1, properties.getCapacity())];
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.slowRequests = Counter.builder("similar.products.slow")
+                .description("Requests whose timeline was captured because they went over the slow request threshold")
+                .register(meterRegistry);
+    }
+
+    public RequestTimeline start(String path) {
+        return new RequestTimeline(path, this::circuitBreakerState);
+    }
+
+    public void complete(RequestTimeline timeline, int status) {
+        if (timeline.elapsedNanos() < thresholdNanos) {
+            return;
+        }
+        SlowRequest slowRequest = timeline.toSlowRequest(status);
+        slowRequests.increment();
+        synchronized (this) {
+            buffer[next] = slowRequest;
+            next = (next + 1) % buffer.length;
+            size = Math.min(size + 1, buffer.length);
+        }
+    }
+
+    // Most recent first
+    public synchronized List<SlowRequest> recent() {
+        List<SlowRequest> recent = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            recent.add(buffer[Math.floorMod(next - i, buffer.length)]);
+        }
+        return recent;
+    }
+
+    private String circuitBreakerState(String name) {
+        return circuitBreakerRegistry.find(name)
+                .map(CircuitBreaker::getState)
+                .map(Enum::name)
+                .orElse("UNKNOWN");
+    }
+}
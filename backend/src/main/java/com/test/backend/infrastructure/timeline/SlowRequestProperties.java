@@ -0,0 +1,12 @@
+package com.test.backend.infrastructure.timeline;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+@Data
+public class SlowRequestProperties {
+    private boolean enabled = true;
+    private Duration threshold = Duration.ofSeconds(1);
+    private int capacity = 50;
+}
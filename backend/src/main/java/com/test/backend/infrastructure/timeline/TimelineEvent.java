@@ -0,0 +1,10 @@
+package com.test.backend.infrastructure.timeline;
+
+public record TimelineEvent(
+        String stage,
+        String key,
+        String outcome,
+        String circuitBreakerState,
+        long startOffsetMicros,
+        long endOffsetMicros) {
+}
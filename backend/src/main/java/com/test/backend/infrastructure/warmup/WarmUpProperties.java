@@ -0,0 +1,16 @@
+package com.test.backend.infrastructure.warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class WarmUpProperties {
+    private boolean enabled = false;
+    private List<String> hotProductIds = new ArrayList<>();
+    private int connections = 10;
+    private int iterations = 500;
+    private Duration timeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,133 @@
+package com.test.backend.infrastructure.warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.test.backend.domain.port.input.GetSimilarProductsUseCase;
+import com.test.backend.domain.port.output.ProductPort;
+import com.test.backend.domain.port.output.SimilarIdsPort;
+import com.test.backend.infrastructure.rest.controller.ProductController;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Runs before the readiness state switches to ACCEPTING_TRAFFIC, which Spring Boot only does
+// once every ApplicationRunner has returned. The steps open downstream connections, load the
+// hot products into the caches and then drive synthetic requests through the use case and the
+// controller, JSON serialization included, so the hot path is compiled before real traffic
+// arrives. Every step is best effort and the whole phase is bounded by the timeout.
+@Slf4j
+public class WarmUpRunner implements ApplicationRunner {
+
+    private final WarmUpProperties properties;
+    private final WebClient productApiWebClient;
+    private final WebClient similarIdsApiWebClient;
+    private final String baseUrl;
+    private final ProductPort productPort;
+    private final SimilarIdsPort similarIdsPort;
+    private final GetSimilarProductsUseCase getSimilarProductsUseCase;
+    private final ProductController productController;
+    private final MeterRegistry meterRegistry;
+
+    public WarmUpRunner(WarmUpProperties properties, WebClient productApiWebClient,
+            WebClient similarIdsApiWebClient, String baseUrl, ProductPort productPort,
+            SimilarIdsPort similarIdsPort, GetSimilarProductsUseCase getSimilarProductsUseCase,
+            ProductController productController, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.productApiWebClient = productApiWebClient;
+        this.similarIdsApiWebClient = similarIdsApiWebClient;
+        this.baseUrl = baseUrl;
+        this.productPort = productPort;
+        this.similarIdsPort = similarIdsPort;
+        this.getSimilarProductsUseCase = getSimilarProductsUseCase;
+        this.productController = productController;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> hotIds = properties.getHotProductIds();
+        if (!properties.isEnabled() || hotIds.isEmpty()) {
+            return;
+        }
+        log.info("Warming up with {} hot products", hotIds.size());
+        long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+
+        step("connections", deadline, () -> openConnections(hotIds.getFirst()));
+        step("preload", deadline, () -> preload(hotIds));
+        step("use-case", deadline, () -> syntheticRequests(hotIds,
+                id -> getSimilarProductsUseCase.execute(id)));
+        step("controller", deadline, () -> syntheticRequests(hotIds,
+                id -> productController.getSimilarProducts(id, null, null, null)));
+    }
+
+    // Concurrent requests that each need their own connection; the responses are discarded
+    // and the connections stay in the pool until their idle time runs out
+    private Mono<Long> openConnections(String productId) {
+        return Flux.range(0, properties.getConnections())
+                .flatMap(i -> Flux.merge(
+                        probe(productApiWebClient, "/product/{id}", productId),
+                        probe(similarIdsApiWebClient, "/product/{id}/similarids", productId)))
+                .count();
+    }
+
+    private Mono<Boolean> probe(WebClient webClient, String path, String productId) {
+        return webClient.get()
+                .uri(baseUrl + path, productId)
+                .retrieve()
+                .toBodilessEntity()
+                .thenReturn(true)
+                .onErrorReturn(false);
+    }
+
+    private Mono<Long> preload(List<String> hotIds) {
+        return Flux.fromIterable(hotIds)
+                .flatMap(id -> similarIdsPort.getSimilarProductIds(id)
+                        .onErrorResume(ex -> Mono.empty())
+                        .flatMapMany(Flux::fromIterable)
+                        .startWith(id))
+                .distinct()
+                .flatMap(id -> productPort.getProductById(id).onErrorResume(ex -> Mono.empty()))
+                .count();
+    }
+
+    private Mono<Long> syntheticRequests(List<String> hotIds, Function<String, Mono<?>> request) {
+        return Flux.range(0, properties.getIterations())
+                .concatMap(i -> request.apply(hotIds.get(i % hotIds.size())).onErrorResume(ex -> Mono.empty()))
+                .count();
+    }
+
+    private void step(String name, long deadline, Supplier<Mono<Long>> work) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            log.warn("Warm-up timeout reached, skipping step {}", name);
+            return;
+        }
+        long start = System.nanoTime();
+        Long completed = work.get()
+                .timeout(Duration.ofNanos(remaining))
+                .onErrorResume(ex -> {
+                    log.warn("Warm-up step {} did not complete: {}", name, ex.toString());
+                    return Mono.empty();
+                })
+                .block();
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("warmup.step")
+                .description("Time spent in each step of the startup warm-up")
+                .tag("step", name)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Warm-up step {} finished in {} ms ({} operations)", name,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), completed == null ? 0 : completed);
+    }
+}
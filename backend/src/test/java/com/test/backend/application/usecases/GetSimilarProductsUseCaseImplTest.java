@@ -1,10 +1,14 @@
 package com.test.backend.application.usecases;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -14,11 +18,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.test.backend.domain.exception.ExternalApiException;
+import com.test.backend.domain.exception.ProductNotFoundException;
 import com.test.backend.domain.model.ProductDetail;
+import com.test.backend.domain.model.SimilarProducts;
+import com.test.backend.domain.model.StreamedProduct;
 import com.test.backend.domain.mother.ProductMother;
 import com.test.backend.domain.port.input.GetSimilarProductsUseCase;
 import com.test.backend.domain.port.output.ProductPort;
 import com.test.backend.domain.port.output.SimilarIdsPort;
+import com.test.backend.domain.port.output.SimilarProductsMetricsPort;
+
+import reactor.core.publisher.Mono;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("GetSimilarProductsUseCaseImpl Test")
@@ -43,13 +54,13 @@ public class GetSimilarProductsUseCaseImplTest {
         String productId = "1";
         List<String> similarIds = List.of("2", "3", "4");
 
-        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(similarIds);
-        when(productPort.getProductById("2")).thenReturn(Optional.of(ProductMother.withId("2", true)));
-        when(productPort.getProductById("3")).thenReturn(Optional.of(ProductMother.withId("3", true)));
-        when(productPort.getProductById("4")).thenReturn(Optional.of(ProductMother.withId("4", true)));
+        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(Mono.just(similarIds));
+        when(productPort.getProductById("2")).thenReturn(Mono.just(ProductMother.withId("2", true)));
+        when(productPort.getProductById("3")).thenReturn(Mono.just(ProductMother.withId("3", true)));
+        when(productPort.getProductById("4")).thenReturn(Mono.just(ProductMother.withId("4", true)));
 
         // When
-        List<ProductDetail> result = getSimilarProductsUseCase.execute(productId);
+        List<ProductDetail> result = getSimilarProductsUseCase.execute(productId).block().products();
 
         // Then
         assertThat(result)
@@ -65,13 +76,13 @@ public class GetSimilarProductsUseCaseImplTest {
         String productId = "1";
         List<String> similarIds = List.of("2", "3", "4");
 
-        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(similarIds);
-        when(productPort.getProductById("2")).thenReturn(Optional.of(ProductMother.withId("2", true)));
-        when(productPort.getProductById("3")).thenReturn(Optional.empty());
-        when(productPort.getProductById("4")).thenReturn(Optional.of(ProductMother.withId("4", true)));
+        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(Mono.just(similarIds));
+        when(productPort.getProductById("2")).thenReturn(Mono.just(ProductMother.withId("2", true)));
+        when(productPort.getProductById("3")).thenReturn(Mono.empty());
+        when(productPort.getProductById("4")).thenReturn(Mono.just(ProductMother.withId("4", true)));
 
         // When
-        List<ProductDetail> result = getSimilarProductsUseCase.execute(productId);
+        List<ProductDetail> result = getSimilarProductsUseCase.execute(productId).block().products();
 
         // Then
         assertThat(result)
@@ -80,15 +91,36 @@ public class GetSimilarProductsUseCaseImplTest {
                 .containsExactlyInAnyOrder("2", "4");
     }
 
+    @Test
+    @DisplayName("Should flag the result as partial when a product fetch fails")
+    void shouldFlagPartialWhenProductFetchFails() {
+        // Given
+        String productId = "1";
+        List<String> similarIds = List.of("2", "3", "4");
+
+        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(Mono.just(similarIds));
+        when(productPort.getProductById("2")).thenReturn(Mono.just(ProductMother.withId("2", true)));
+        when(productPort.getProductById("3"))
+                .thenReturn(Mono.error(new ExternalApiException("Product API is unavailable")));
+        when(productPort.getProductById("4")).thenReturn(Mono.empty());
+
+        // When
+        SimilarProducts result = getSimilarProductsUseCase.execute(productId).block();
+
+        // Then
+        assertThat(result.partial()).isTrue();
+        assertThat(result.products()).extracting(ProductDetail::id).containsExactly("2");
+    }
+
     @Test
     @DisplayName("Should return empty list when no similar products found")
     void shouldReturnEmptyWhenNoSimilarProducts() {
         // Given
         String productId = "1";
-        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(List.of());
+        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(Mono.just(List.of()));
 
         // When
-        List<ProductDetail> result = getSimilarProductsUseCase.execute(productId);
+        List<ProductDetail> result = getSimilarProductsUseCase.execute(productId).block().products();
 
         // Then
         assertThat(result).isEmpty();
@@ -101,13 +133,13 @@ public class GetSimilarProductsUseCaseImplTest {
         String productId = "1";
         List<String> similarIds = List.of("2", "3", "4");
 
-        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(similarIds);
-        when(productPort.getProductById("2")).thenReturn(Optional.empty());
-        when(productPort.getProductById("3")).thenReturn(Optional.empty());
-        when(productPort.getProductById("4")).thenReturn(Optional.empty());
+        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(Mono.just(similarIds));
+        when(productPort.getProductById("2")).thenReturn(Mono.empty());
+        when(productPort.getProductById("3")).thenReturn(Mono.empty());
+        when(productPort.getProductById("4")).thenReturn(Mono.empty());
 
         // When
-        List<ProductDetail> result = getSimilarProductsUseCase.execute(productId);
+        List<ProductDetail> result = getSimilarProductsUseCase.execute(productId).block().products();
 
         // Then
         assertThat(result).isEmpty();
@@ -123,12 +155,12 @@ public class GetSimilarProductsUseCaseImplTest {
                 .mapToObj(String::valueOf)
                 .toList();
 
-        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(similarIds);
+        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(Mono.just(similarIds));
         similarIds.forEach(id -> when(productPort.getProductById(id))
-                .thenReturn(Optional.of(ProductMother.withId(id, true))));
+                .thenReturn(Mono.just(ProductMother.withId(id, true))));
 
         // When
-        List<ProductDetail> result = getSimilarProductsUseCase.execute(productId);
+        List<ProductDetail> result = getSimilarProductsUseCase.execute(productId).block().products();
 
         // Then
         assertThat(result)
@@ -136,4 +168,241 @@ public class GetSimilarProductsUseCaseImplTest {
                 .extracting(ProductDetail::id)
                 .containsExactlyInAnyOrderElementsOf(similarIds);
     }
+
+    @Test
+    @DisplayName("Should report the fan-out size and the products filtered out as unavailable, streaming included")
+    void shouldRecordFanOutAndUnavailableProducts() {
+        // Given
+        String productId = "1";
+        SimilarProductsMetricsPort metrics = mock(SimilarProductsMetricsPort.class);
+        GetSimilarProductsUseCase instrumented = new GetSimilarProductsUseCaseImpl(
+                similarIdsPort, productPort, Duration.ZERO, metrics);
+
+        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(Mono.just(List.of("2", "3", "4")));
+        when(productPort.getProductById("2")).thenReturn(Mono.just(ProductMother.withId("2", true)));
+        when(productPort.getProductById("3")).thenReturn(Mono.just(ProductMother.withId("3", false)));
+        when(productPort.getProductById("4")).thenReturn(Mono.empty());
+
+        // When
+        instrumented.execute(productId).block();
+        instrumented.stream(productId).blockLast();
+
+        // Then
+        verify(metrics, times(2)).recordFanOut(3);
+        verify(metrics, times(2)).recordUnavailable(1);
+    }
+
+    @Test
+    @DisplayName("Should return the products resolved within the latency budget as a partial result")
+    void shouldReturnPartialResultWhenLatencyBudgetRunsOut() {
+        // Given
+        String productId = "1";
+        GetSimilarProductsUseCase budgeted = new GetSimilarProductsUseCaseImpl(
+                similarIdsPort, productPort, Duration.ofMillis(200));
+
+        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(Mono.just(List.of("2", "3", "4")));
+        when(productPort.getProductById("2")).thenReturn(Mono.just(ProductMother.withId("2", true)));
+        when(productPort.getProductById("3")).thenReturn(Mono.just(ProductMother.withId("3", true))
+                .delayElement(Duration.ofSeconds(5)));
+        when(productPort.getProductById("4")).thenReturn(Mono.just(ProductMother.withId("4", true)));
+
+        // When
+        SimilarProducts result = budgeted.execute(productId).block(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(result.partial()).isTrue();
+        assertThat(result.products())
+                .extracting(ProductDetail::id)
+                .containsExactlyInAnyOrder("2", "4");
+    }
+
+    @Test
+    @DisplayName("Should return a complete result when every product arrives within the latency budget")
+    void shouldReturnCompleteResultWithinLatencyBudget() {
+        // Given
+        String productId = "1";
+        GetSimilarProductsUseCase budgeted = new GetSimilarProductsUseCaseImpl(
+                similarIdsPort, productPort, Duration.ofSeconds(2));
+
+        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(Mono.just(List.of("2", "3")));
+        when(productPort.getProductById("2")).thenReturn(Mono.just(ProductMother.withId("2", true)));
+        when(productPort.getProductById("3")).thenReturn(Mono.empty());
+
+        // When
+        SimilarProducts result = budgeted.execute(productId).block();
+
+        // Then
+        assertThat(result.partial()).isFalse();
+        assertThat(result.products()).extracting(ProductDetail::id).containsExactly("2");
+    }
+
+    @Test
+    @DisplayName("Should return an empty partial result when similar IDs do not arrive within the latency budget")
+    void shouldReturnEmptyPartialResultWhenSimilarIdsAreLate() {
+        // Given
+        String productId = "1";
+        GetSimilarProductsUseCase budgeted = new GetSimilarProductsUseCaseImpl(
+                similarIdsPort, productPort, Duration.ofMillis(100));
+
+        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(Mono.<List<String>>never());
+
+        // When
+        SimilarProducts result = budgeted.execute(productId).block(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(result.partial()).isTrue();
+        assertThat(result.products()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep similarity order when products resolve out of order")
+    void shouldKeepSimilarityOrder() {
+        // Given
+        String productId = "1";
+
+        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(Mono.just(List.of("2", "3", "4")));
+        when(productPort.getProductById("2"))
+                .thenReturn(Mono.just(ProductMother.withId("2", true)).delayElement(Duration.ofMillis(100)));
+        when(productPort.getProductById("3"))
+                .thenReturn(Mono.just(ProductMother.withId("3", true)).delayElement(Duration.ofMillis(50)));
+        when(productPort.getProductById("4")).thenReturn(Mono.just(ProductMother.withId("4", true)));
+
+        // When
+        List<ProductDetail> result = getSimilarProductsUseCase.execute(productId).block().products();
+
+        // Then
+        assertThat(result).extracting(ProductDetail::id).containsExactly("2", "3", "4");
+    }
+
+    @Test
+    @DisplayName("Should stream available products in similarity order")
+    void shouldStreamProductsInSimilarityOrder() {
+        // Given
+        String productId = "1";
+
+        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(Mono.just(List.of("2", "3", "4", "5")));
+        when(productPort.getProductById("2"))
+                .thenReturn(Mono.just(ProductMother.withId("2", true)).delayElement(Duration.ofMillis(100)));
+        when(productPort.getProductById("3")).thenReturn(Mono.just(ProductMother.withId("3", false)));
+        when(productPort.getProductById("4")).thenReturn(Mono.empty());
+        when(productPort.getProductById("5")).thenReturn(Mono.just(ProductMother.withId("5", true)));
+
+        // When
+        List<StreamedProduct> result = getSimilarProductsUseCase.stream(productId).collectList().block();
+
+        // Then
+        assertThat(result).extracting(StreamedProduct::partial).containsOnly(false);
+        assertThat(result).extracting(item -> item.product().id()).containsExactly("2", "5");
+    }
+
+    @Test
+    @DisplayName("Should end the stream with a partial marker when the latency budget runs out")
+    void shouldEndStreamWithPartialMarkerWhenBudgetRunsOut() {
+        // Given
+        String productId = "1";
+        GetSimilarProductsUseCase budgeted = new GetSimilarProductsUseCaseImpl(
+                similarIdsPort, productPort, Duration.ofMillis(200));
+
+        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(Mono.just(List.of("2", "3")));
+        when(productPort.getProductById("2")).thenReturn(Mono.just(ProductMother.withId("2", true)));
+        when(productPort.getProductById("3")).thenReturn(Mono.just(ProductMother.withId("3", true))
+                .delayElement(Duration.ofSeconds(5)));
+
+        // When
+        List<StreamedProduct> result = budgeted.stream(productId).collectList().block(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).product().id()).isEqualTo("2");
+        assertThat(result.get(1)).isEqualTo(StreamedProduct.partialEnd());
+    }
+
+    @Test
+    @DisplayName("Should end the stream with a partial marker when a product fetch fails")
+    void shouldEndStreamWithPartialMarkerWhenProductFetchFails() {
+        // Given
+        String productId = "1";
+
+        when(similarIdsPort.getSimilarProductIds(productId)).thenReturn(Mono.just(List.of("2", "3", "4")));
+        when(productPort.getProductById("2")).thenReturn(Mono.just(ProductMother.withId("2", true)));
+        when(productPort.getProductById("3"))
+                .thenReturn(Mono.error(new ExternalApiException("Product API is unavailable")));
+        when(productPort.getProductById("4")).thenReturn(Mono.just(ProductMother.withId("4", true)));
+
+        // When
+        List<StreamedProduct> result = getSimilarProductsUseCase.stream(productId).collectList().block();
+
+        // Then
+        assertThat(result).hasSize(3);
+        assertThat(result.subList(0, 2)).extracting(item -> item.product().id()).containsExactly("2", "4");
+        assertThat(result.get(2)).isEqualTo(StreamedProduct.partialEnd());
+    }
+
+    @Test
+    @DisplayName("Should fetch each distinct product once across a batch")
+    void shouldFetchDistinctProductsOnceAcrossBatch() {
+        // Given
+        when(similarIdsPort.getSimilarProductIds("1")).thenReturn(Mono.just(List.of("2", "3")));
+        when(similarIdsPort.getSimilarProductIds("4")).thenReturn(Mono.just(List.of("3", "2", "5")));
+        when(productPort.getProductById("2")).thenReturn(Mono.just(ProductMother.withId("2", true)));
+        when(productPort.getProductById("3")).thenReturn(Mono.just(ProductMother.withId("3", true)));
+        when(productPort.getProductById("5")).thenReturn(Mono.just(ProductMother.withId("5", false)));
+
+        // When
+        Map<String, SimilarProducts> result = getSimilarProductsUseCase.executeBatch(List.of("1", "4", "1")).block();
+
+        // Then
+        assertThat(result).containsOnlyKeys("1", "4");
+        assertThat(result.get("1").products()).extracting(ProductDetail::id).containsExactly("2", "3");
+        assertThat(result.get("4").products()).extracting(ProductDetail::id).containsExactly("3", "2");
+        assertThat(result.get("4").partial()).isFalse();
+        verify(similarIdsPort, times(1)).getSimilarProductIds("1");
+        verify(productPort, times(1)).getProductById("2");
+        verify(productPort, times(1)).getProductById("3");
+    }
+
+    @Test
+    @DisplayName("Should leave out missing sources and flag failed sources as partial in a batch")
+    void shouldHandleMissingAndFailedSourcesInBatch() {
+        // Given
+        when(similarIdsPort.getSimilarProductIds("1")).thenReturn(Mono.just(List.of("2")));
+        when(similarIdsPort.getSimilarProductIds("404"))
+                .thenReturn(Mono.error(new ProductNotFoundException("404")));
+        when(similarIdsPort.getSimilarProductIds("503"))
+                .thenReturn(Mono.error(new ExternalApiException("Similar products API is unavailable")));
+        when(productPort.getProductById("2")).thenReturn(Mono.just(ProductMother.withId("2", true)));
+
+        // When
+        Map<String, SimilarProducts> result = getSimilarProductsUseCase
+                .executeBatch(List.of("1", "404", "503"))
+                .block();
+
+        // Then
+        assertThat(result).containsOnlyKeys("1", "503");
+        assertThat(result.get("1").partial()).isFalse();
+        assertThat(result.get("1").products()).extracting(ProductDetail::id).containsExactly("2");
+        assertThat(result.get("503").partial()).isTrue();
+        assertThat(result.get("503").products()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should flag only the batch sources with a failed product fetch as partial")
+    void shouldFlagSourcesWithFailedProductsInBatch() {
+        // Given
+        when(similarIdsPort.getSimilarProductIds("1")).thenReturn(Mono.just(List.of("2", "3")));
+        when(similarIdsPort.getSimilarProductIds("4")).thenReturn(Mono.just(List.of("2", "5")));
+        when(productPort.getProductById("2")).thenReturn(Mono.just(ProductMother.withId("2", true)));
+        when(productPort.getProductById("3"))
+                .thenReturn(Mono.error(new ExternalApiException("Product API is unavailable")));
+        when(productPort.getProductById("5")).thenReturn(Mono.empty());
+
+        // When
+        Map<String, SimilarProducts> result = getSimilarProductsUseCase.executeBatch(List.of("1", "4")).block();
+
+        // Then
+        assertThat(result.get("1").partial()).isTrue();
+        assertThat(result.get("1").products()).extracting(ProductDetail::id).containsExactly("2");
+        assertThat(result.get("4").partial()).isFalse();
+        assertThat(result.get("4").products()).extracting(ProductDetail::id).containsExactly("2");
+    }
 }
@@ -0,0 +1,279 @@
+package com.test.backend.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.backend.infrastructure.cache.offheap.OffHeapStore;
+import com.test.backend.infrastructure.cache.snapshot.StringListCodec;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@DisplayName("Reactive Cache Test")
+public class ReactiveCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private Sinks.One<String> pending;
+    private ReactiveCache<String> cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pending = Sinks.one();
+        cache = new ReactiveCache<>("test", Caffeine.newBuilder(), key -> {
+            loads.incrementAndGet();
+            return pending.asMono();
+        }, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should share one pending load between concurrent callers of the same key")
+    void shouldMergeConcurrentMisses() {
+        // Given
+        List<CompletableFuture<String>> callers = IntStream.range(0, 3)
+                .mapToObj(i -> cache.get("1").toFuture())
+                .toList();
+
+        // When
+        pending.tryEmitValue("value");
+
+        // Then
+        assertThat(callers).allSatisfy(caller -> assertThat(caller.join()).isEqualTo("value"));
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlightCount("leader")).isEqualTo(1);
+        assertThat(singleFlightCount("merged")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should serve later calls from the cache once the load has completed")
+    void shouldServeCompletedLoadFromCache() {
+        // Given
+        pending.tryEmitValue("value");
+        cache.get("1").block();
+
+        // When
+        String result = cache.get("1").block();
+
+        // Then
+        assertThat(result).isEqualTo("value");
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlightCount("merged")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should cache a confirmed absence for the negative TTL only")
+    void shouldCacheConfirmedAbsenceWithItsOwnTtl() {
+        // Given
+        AtomicLong nanos = new AtomicLong();
+        AtomicInteger calls = new AtomicInteger();
+        ReactiveCache<String> negative = new ReactiveCache<>("negative", Caffeine.newBuilder()
+                .expireAfter(new CacheEntryExpiry(Duration.ofMinutes(10), Duration.ofMinutes(1)))
+                .executor(Runnable::run)
+                .ticker(nanos::get), key -> {
+                    calls.incrementAndGet();
+                    return Mono.empty();
+                }, meterRegistry);
+
+        // When
+        Optional<String> first = negative.get("404").blockOptional();
+        Optional<String> cached = negative.get("404").blockOptional();
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        negative.get("404").blockOptional();
+
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(cached).isEmpty();
+        assertThat(calls).hasValue(2);
+        assertThat(meterRegistry.get("cache.negative.hits").tag("cache", "negative").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.negative.puts").tag("cache", "negative").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not cache failed loads")
+    void shouldNotCacheFailedLoads() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        ReactiveCache<String> failing = new ReactiveCache<>("failing", Caffeine.newBuilder(), key -> {
+            calls.incrementAndGet();
+            return Mono.error(new IllegalStateException("boom"));
+        }, meterRegistry);
+
+        // When
+        failing.get("1").onErrorResume(ex -> Mono.empty()).block();
+        failing.get("1").onErrorResume(ex -> Mono.empty()).block();
+
+        // Then
+        assertThat(calls).hasValue(2);
+        assertThat(failing.getNativeCache().synchronous().asMap()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep serving the current value while a hot entry is refreshed in the background")
+    void shouldRefreshAheadOfExpiry() {
+        // Given
+        AtomicLong nanos = new AtomicLong();
+        AtomicReference<Mono<String>> downstream = new AtomicReference<>(Mono.just("v1"));
+        ReactiveCacheFactory factory = new ReactiveCacheFactory(() -> Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .refreshAfterWrite(Duration.ofMinutes(8))
+                .executor(Runnable::run)
+                .ticker(nanos::get), new CaffeineCacheManager(), meterRegistry);
+        ReactiveCache<String> refreshing = factory.create("refreshing", key -> {
+            loads.incrementAndGet();
+            return downstream.get();
+        });
+        refreshing.get("1").block();
+
+        // When
+        downstream.set(pending.asMono());
+        nanos.addAndGet(Duration.ofMinutes(9).toNanos());
+        String duringRefresh = refreshing.get("1").block();
+        pending.tryEmitValue("v2");
+        String afterRefresh = refreshing.get("1").block();
+
+        // Then
+        assertThat(duringRefresh).isEqualTo("v1");
+        assertThat(afterRefresh).isEqualTo("v2");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should revalidate a refreshed entry and keep it with a fresh lifetime when not modified")
+    void shouldRevalidateOnRefresh() {
+        // Given
+        AtomicLong nanos = new AtomicLong();
+        List<Validators> sent = new CopyOnWriteArrayList<>();
+        List<String> changes = new CopyOnWriteArrayList<>();
+        AtomicReference<Validated<List<String>>> downstream = new AtomicReference<>(
+                Validated.of(List.of("2", "3"), new Validators("\"v1\"", null)));
+        ReactiveCacheFactory factory = new ReactiveCacheFactory(() -> Caffeine.newBuilder()
+                .expireAfter(new CacheEntryExpiry(Duration.ofMinutes(10), Duration.ofMinutes(1)))
+                .refreshAfterWrite(Duration.ofMinutes(8))
+                .executor(Runnable::run)
+                .ticker(nanos::get), new CaffeineCacheManager(), meterRegistry);
+        factory.addChangeListener((name, key) -> changes.add(key));
+        ReactiveCache<List<String>> revalidating = factory.createConditional("revalidating",
+                (key, validators) -> {
+                    sent.add(validators);
+                    return Mono.just(downstream.get());
+                }, new StringListCodec());
+        revalidating.get("1").block();
+
+        // When
+        downstream.set(Validated.unchanged());
+        nanos.addAndGet(Duration.ofMinutes(9).toNanos());
+        revalidating.get("1").block();
+        List<String> afterRevalidation = revalidating.get("1").block();
+
+        // Then
+        assertThat(afterRevalidation).containsExactly("2", "3");
+        assertThat(sent).containsExactly(Validators.NONE, new Validators("\"v1\"", null));
+        assertThat(revalidating.getNativeCache().synchronous().policy().expireVariably().orElseThrow()
+                .getExpiresAfter("1")).contains(Duration.ofMinutes(10));
+        assertThat(changes).isEmpty();
+        assertThat(meterRegistry.get("cache.revalidations").tag("cache", "revalidating")
+                .tag("result", "not-modified").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replace a revalidated entry when the downstream sends a new value")
+    void shouldReplaceOnModifiedRevalidation() {
+        // Given
+        AtomicLong nanos = new AtomicLong();
+        List<String> changes = new CopyOnWriteArrayList<>();
+        AtomicReference<Validated<List<String>>> downstream = new AtomicReference<>(
+                Validated.of(List.of("2", "3"), new Validators(null, "Mon, 05 Oct 2026 10:00:00 GMT")));
+        ReactiveCacheFactory factory = new ReactiveCacheFactory(() -> Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .refreshAfterWrite(Duration.ofMinutes(8))
+                .executor(Runnable::run)
+                .ticker(nanos::get), new CaffeineCacheManager(), meterRegistry);
+        factory.addChangeListener((name, key) -> changes.add(key));
+        ReactiveCache<List<String>> revalidating = factory.createConditional("revalidating",
+                (key, validators) -> Mono.just(downstream.get()), new StringListCodec());
+        revalidating.get("1").block();
+
+        // When
+        downstream.set(Validated.of(List.of("4"), new Validators(null, "Tue, 06 Oct 2026 10:00:00 GMT")));
+        nanos.addAndGet(Duration.ofMinutes(9).toNanos());
+        revalidating.get("1").block();
+        List<String> afterRefresh = revalidating.get("1").block();
+
+        // Then
+        assertThat(afterRefresh).containsExactly("4");
+        assertThat(changes).containsExactly("1");
+        assertThat(meterRegistry.get("cache.revalidations").tag("cache", "revalidating")
+                .tag("result", "modified").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should bind the Caffeine statistics of every cache created by the factory")
+    void shouldBindCaffeineStatistics() {
+        // Given
+        ReactiveCacheFactory factory = new ReactiveCacheFactory(() -> Caffeine.newBuilder().recordStats(),
+                new CaffeineCacheManager(), meterRegistry);
+        ReactiveCache<String> monitored = factory.create("monitored", key -> Mono.just("value-" + key));
+
+        // When
+        monitored.get("1").block();
+        monitored.get("1").block();
+
+        // Then
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "monitored").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "monitored").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should answer an on-heap miss from the off-heap tier with the original deadline")
+    void shouldFallBackToOffHeapTier() {
+        // Given
+        AtomicLong nanos = new AtomicLong();
+        AtomicInteger calls = new AtomicInteger();
+        OffHeapStore<List<String>> offHeap = new OffHeapStore<>("tiered", 4096, Duration.ofMinutes(10),
+                Duration.ofMinutes(1), new StringListCodec(), nanos::get, meterRegistry);
+        ReactiveCache<List<String>> tiered = new ReactiveCache<>("tiered", Caffeine.newBuilder()
+                .expireAfter(new CacheEntryExpiry(Duration.ofMinutes(10), Duration.ofMinutes(1)))
+                .executor(Runnable::run)
+                .ticker(nanos::get), key -> {
+                    calls.incrementAndGet();
+                    return Mono.just(List.of("2", "3"));
+                }, offHeap, meterRegistry);
+        tiered.get("1").block();
+
+        // When
+        nanos.addAndGet(Duration.ofMinutes(4).toNanos());
+        tiered.getNativeCache().synchronous().invalidate("1");
+        List<String> fromOffHeap = tiered.get("1").block();
+
+        // Then
+        assertThat(fromOffHeap).containsExactly("2", "3");
+        assertThat(calls).hasValue(1);
+        assertThat(tiered.getNativeCache().synchronous().policy().expireVariably().orElseThrow()
+                .getExpiresAfter("1")).contains(Duration.ofMinutes(6));
+        assertThat(meterRegistry.get("cache.l2.gets").tag("cache", "tiered").tag("result", "hit")
+                .counter().count()).isEqualTo(1);
+    }
+
+    private double singleFlightCount(String result) {
+        return meterRegistry.get("cache.singleflight").tag("cache", "test").tag("result", result).counter().count();
+    }
+}
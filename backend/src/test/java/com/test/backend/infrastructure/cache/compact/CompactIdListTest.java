@@ -0,0 +1,41 @@
+package com.test.backend.infrastructure.cache.compact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Compact ID List Test")
+public class CompactIdListTest {
+
+    @Test
+    @DisplayName("Should pack a list of numeric IDs and read it back as the same strings")
+    void shouldPackNumericIds() {
+        // Given
+        List<String> ids = List.of("2", "3", "1000", "2147483647");
+
+        // When
+        CompactIdList compact = CompactIdList.of(ids);
+
+        // Then
+        assertThat(compact.isPacked()).isTrue();
+        assertThat(compact).isEqualTo(ids);
+    }
+
+    @Test
+    @DisplayName("Should keep the strings when any ID would not survive the round trip through an int")
+    void shouldNotPackNonCanonicalIds() {
+        // Given
+        List<String> ids = List.of("2", "007", "2147483648", "-1", "abc");
+
+        // When
+        CompactIdList compact = CompactIdList.of(ids);
+
+        // Then
+        assertThat(compact.isPacked()).isFalse();
+        assertThat(compact).containsExactlyElementsOf(ids);
+        assertThat(CompactIdList.of(List.of("2", "007")).isPacked()).isFalse();
+    }
+}
@@ -0,0 +1,47 @@
+package com.test.backend.infrastructure.cache.compact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.test.backend.domain.model.ProductDetail;
+
+@DisplayName("Compact Product Detail Test")
+public class CompactProductDetailTest {
+
+    @Test
+    @DisplayName("Should expand back into an equal ProductDetail and share names between products")
+    void shouldRoundTripAndShareNames() {
+        // Given
+        ProductDetail first = new ProductDetail("1", new String("Shirt"), new BigDecimal("9.990"), true);
+        ProductDetail second = new ProductDetail("2", new String("Shirt"), new BigDecimal("19"), false);
+
+        // When
+        CompactProductDetail compactFirst = CompactProductDetail.of(first);
+        CompactProductDetail compactSecond = CompactProductDetail.of(second);
+
+        // Then
+        assertThat(compactFirst.toProductDetail()).isEqualTo(first);
+        assertThat(compactFirst.price().scale()).isEqualTo(3);
+        assertThat(compactSecond.toProductDetail()).isEqualTo(second);
+        assertThat(compactFirst.name()).isSameAs(compactSecond.name());
+    }
+
+    @Test
+    @DisplayName("Should keep ids and prices that cannot be packed unchanged")
+    void shouldKeepUnpackableValues() {
+        // Given
+        BigDecimal hugePrice = new BigDecimal("123456789012345678901234567890.99");
+        ProductDetail product = new ProductDetail("007", "Watch", hugePrice, true);
+
+        // When
+        ProductDetail expanded = CompactProductDetail.of(product).toProductDetail();
+
+        // Then
+        assertThat(expanded.id()).isEqualTo("007");
+        assertThat(expanded.price()).isEqualTo(hugePrice);
+    }
+}
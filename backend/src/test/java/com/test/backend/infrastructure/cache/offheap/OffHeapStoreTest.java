@@ -0,0 +1,96 @@
+package com.test.backend.infrastructure.cache.offheap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.test.backend.infrastructure.cache.CacheEntry;
+import com.test.backend.infrastructure.cache.snapshot.StringListCodec;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Off-Heap Store Test")
+public class OffHeapStoreTest {
+
+    // Header (17) + one-byte key + a two-element list of one-character IDs (14)
+    private static final int RECORD_BYTES = 32;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest entries once the byte bound is reached")
+    void shouldEvictOldestEntriesWhenFull() {
+        // Given
+        OffHeapStore<List<String>> store = store(RECORD_BYTES * 3 + 4);
+        for (String key : List.of("1", "2", "3")) {
+            store.put(key, CacheEntry.found(List.of("a", key)));
+        }
+
+        // When
+        store.put("4", CacheEntry.found(List.of("a", "4")));
+
+        // Then
+        assertThat(store.get("1")).isNull();
+        assertThat(store.get("2").value()).containsExactly("a", "2");
+        assertThat(store.get("4").value()).containsExactly("a", "4");
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.usedBytes()).isLessThanOrEqualTo(store.capacity());
+        assertThat(meterRegistry.get("cache.l2.evictions").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stop returning entries after their TTL and keep negatives for the negative TTL")
+    void shouldExpireEntries() {
+        // Given
+        OffHeapStore<List<String>> store = store(1024);
+        store.put("1", CacheEntry.found(List.of("2", "3")));
+        store.put("404", CacheEntry.notFound());
+
+        // When
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        CacheEntry<List<String>> value = store.get("1");
+        CacheEntry<List<String>> negative = store.get("404");
+
+        // Then
+        assertThat(value.value()).containsExactly("2", "3");
+        assertThat(value.expiresAtNanos()).isEqualTo(Duration.ofMinutes(10).toNanos());
+        assertThat(negative).isNull();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reclaim the superseded record of a rewritten key without evicting live entries")
+    void shouldReclaimSupersededRecords() {
+        // Given
+        OffHeapStore<List<String>> store = store(RECORD_BYTES * 3);
+        store.put("1", CacheEntry.found(List.of("a", "1")));
+        store.put("2", CacheEntry.found(List.of("a", "2")));
+        store.put("1", CacheEntry.found(List.of("b", "1")));
+
+        // When
+        store.put("3", CacheEntry.found(List.of("a", "3")));
+
+        // Then
+        assertThat(store.get("1").value()).containsExactly("b", "1");
+        assertThat(store.get("2").value()).containsExactly("a", "2");
+        assertThat(store.get("3").value()).containsExactly("a", "3");
+        assertThat(meterRegistry.get("cache.l2.evictions").counter().count()).isZero();
+    }
+
+    private OffHeapStore<List<String>> store(long maxBytes) {
+        return new OffHeapStore<>("test", maxBytes, Duration.ofMinutes(10), Duration.ofMinutes(1),
+                new StringListCodec(), nanos::get, meterRegistry);
+    }
+}
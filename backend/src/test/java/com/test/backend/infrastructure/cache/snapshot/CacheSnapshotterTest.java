@@ -0,0 +1,135 @@
+package com.test.backend.infrastructure.cache.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.backend.domain.model.ProductDetail;
+import com.test.backend.infrastructure.cache.CacheEntryExpiry;
+import com.test.backend.infrastructure.cache.ReactiveCache;
+import com.test.backend.infrastructure.cache.ReactiveCacheFactory;
+import com.test.backend.infrastructure.cache.compact.CompactProductDetail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+@DisplayName("Cache Snapshotter Test")
+public class CacheSnapshotterTest {
+
+    private static final Instant SNAPSHOT_TIME = Instant.parse("2026-01-01T10:00:00Z");
+
+    @TempDir
+    private Path directory;
+
+    private Path snapshot;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        snapshot = directory.resolve("cache.snapshot");
+    }
+
+    @Test
+    @DisplayName("Should restore values and confirmed absences of every cache from the snapshot")
+    void shouldRestoreCachesFromSnapshot() {
+        // Given
+        Caches before = new Caches();
+        before.products.get("1").block();
+        before.products.get("404").block();
+        before.similarIds.get("1").block();
+        int saved = snapshotter(before.factory, SNAPSHOT_TIME).save();
+
+        // When
+        Caches after = new Caches();
+        int restored = snapshotter(after.factory, SNAPSHOT_TIME).load();
+        loads.set(0);
+
+        // Then
+        assertThat(saved).isEqualTo(3);
+        assertThat(restored).isEqualTo(3);
+        assertThat(after.products.get("1").map(CompactProductDetail::toProductDetail).block()).isEqualTo(product("1"));
+        assertThat(after.products.get("404").blockOptional()).isEmpty();
+        assertThat(after.similarIds.get("1").block()).containsExactly("2", "3", "4");
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should only restore entries with time to live left, minus the downtime")
+    void shouldRespectRemainingTimeToLive() {
+        // Given
+        Caches before = new Caches();
+        before.products.get("1").block();
+        before.products.get("404").block();
+        snapshotter(before.factory, SNAPSHOT_TIME).save();
+
+        // When
+        Caches after = new Caches();
+        int restored = snapshotter(after.factory, SNAPSHOT_TIME.plus(Duration.ofMinutes(2))).load();
+
+        // Then
+        assertThat(restored).isEqualTo(1);
+        long remaining = after.products.getNativeCache().synchronous().policy().expireVariably().orElseThrow()
+                .getExpiresAfter("1", TimeUnit.MINUTES).orElseThrow();
+        assertThat(remaining).isBetween(7L, 8L);
+        assertThat(after.products.getNativeCache().synchronous().asMap()).doesNotContainKey("404");
+    }
+
+    @Test
+    @DisplayName("Should start cold when the snapshot is missing or unreadable")
+    void shouldIgnoreMissingOrCorruptSnapshot() throws IOException {
+        // Given
+        Caches caches = new Caches();
+        CacheSnapshotter snapshotter = snapshotter(caches.factory, SNAPSHOT_TIME);
+
+        // When
+        int withoutFile = snapshotter.load();
+        Files.write(snapshot, new byte[] { 1, 2, 3 });
+        int withCorruptFile = snapshotter.load();
+
+        // Then
+        assertThat(withoutFile).isZero();
+        assertThat(withCorruptFile).isZero();
+        assertThat(caches.products.getNativeCache().synchronous().asMap()).isEmpty();
+    }
+
+    private CacheSnapshotter snapshotter(ReactiveCacheFactory factory, Instant now) {
+        return new CacheSnapshotter(factory, snapshot, Duration.ZERO, Clock.fixed(now, ZoneOffset.UTC),
+                new SimpleMeterRegistry());
+    }
+
+    private static ProductDetail product(String id) {
+        return new ProductDetail(id, "Product " + id, new BigDecimal("19.99"), true);
+    }
+
+    private final class Caches {
+        private final ReactiveCacheFactory factory = new ReactiveCacheFactory(() -> Caffeine.newBuilder()
+                .expireAfter(new CacheEntryExpiry(Duration.ofMinutes(10), Duration.ofMinutes(1))),
+                new CaffeineCacheManager(), new SimpleMeterRegistry());
+        private final ReactiveCache<CompactProductDetail> products = factory.create("productDetails", id -> {
+            loads.incrementAndGet();
+            return id.equals("404") ? Mono.empty() : Mono.just(CompactProductDetail.of(product(id)));
+        }, new CompactProductDetailCodec());
+        private final ReactiveCache<List<String>> similarIds = factory.create("similarIds", id -> {
+            loads.incrementAndGet();
+            return Mono.just(Map.of("1", List.of("2", "3", "4")).get(id));
+        }, new StringListCodec());
+    }
+}
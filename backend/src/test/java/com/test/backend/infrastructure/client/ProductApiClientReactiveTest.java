@@ -5,17 +5,46 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.backend.application.usecases.GetSimilarProductsUseCaseImpl;
+import com.test.backend.domain.exception.ExternalApiException;
 import com.test.backend.domain.model.ProductDetail;
+import com.test.backend.infrastructure.cache.ReactiveCache;
+import com.test.backend.infrastructure.cache.ReactiveCacheFactory;
+import com.test.backend.infrastructure.metrics.PipelineMetrics;
+import com.test.backend.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import com.test.backend.infrastructure.resilience.ConcurrencyLimitProperties;
+import com.test.backend.infrastructure.resilience.OutlierEjectedException;
+import com.test.backend.infrastructure.resilience.OutlierEjectionProperties;
+import com.test.backend.infrastructure.resilience.OutlierEjector;
+import com.test.backend.infrastructure.resilience.RequestHedger;
+import com.test.backend.infrastructure.rest.response.JacksonSimilarProductsJsonWriter;
+import com.test.backend.infrastructure.rest.response.SimilarProductsBody;
+import com.test.backend.infrastructure.rest.response.SimilarProductsResponses;
+import com.test.backend.support.H2cStandInServer;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 
 @SpringBootTest
 @DisplayName("Product API Client Test")
@@ -23,6 +52,7 @@ public class ProductApiClientReactiveTest {
 
     private ProductApiClientReactive productApiClient;
     private MockWebServer mockWebServer;
+    private SimpleMeterRegistry meterRegistry;
     private String baseUrl;
 
     @BeforeEach
@@ -32,7 +62,12 @@ public class ProductApiClientReactiveTest {
         baseUrl = mockWebServer.url("/").toString().replaceAll("/$", "");
 
         WebClient webClient = WebClient.builder().baseUrl(baseUrl).build();
-        productApiClient = new ProductApiClientReactive(webClient);
+        meterRegistry = new SimpleMeterRegistry();
+        productApiClient = new ProductApiClientReactive(webClient,
+                new ReactiveCacheFactory(Caffeine::newBuilder, new CaffeineCacheManager(), meterRegistry),
+                RequestHedger.disabled(meterRegistry),
+                new AdaptiveConcurrencyLimiter("productApi", new ConcurrencyLimitProperties(), meterRegistry),
+                OutlierEjector.disabled(meterRegistry), new PipelineMetrics(meterRegistry));
         
         var field = ProductApiClientReactive.class.getDeclaredField("baseUrl");
         field.setAccessible(true);
@@ -64,7 +99,7 @@ public class ProductApiClientReactiveTest {
                 .addHeader("Content-Type", "application/json"));
 
         // When
-        Optional<ProductDetail> result = productApiClient.getProductById(productId);
+        Optional<ProductDetail> result = productApiClient.getProductById(productId).blockOptional();
 
         // Then
         assertThat(result).isPresent();
@@ -84,25 +119,239 @@ public class ProductApiClientReactiveTest {
                 .addHeader("Content-Type", "application/json"));
 
         // When
-        Optional<ProductDetail> result = productApiClient.getProductById(productId);
+        Optional<ProductDetail> result = productApiClient.getProductById(productId).blockOptional();
 
         // Then
         assertThat(result).isEmpty();
     }
 
     @Test
-    @DisplayName("Should return empty when API responds with 500")
-    void shouldReturnEmptyWhenApiResponds500() {
+    @DisplayName("Should fail with ExternalApiException when API responds with 500")
+    void shouldFailWhenApiResponds500() {
         // Given
         String productId = "1";
         mockWebServer.enqueue(new MockResponse()
                 .setResponseCode(500)
                 .addHeader("Content-Type", "application/json"));
 
+        // When & Then
+        assertThrows(ExternalApiException.class, () -> productApiClient.getProductById(productId).block());
+    }
+
+    @Test
+    @DisplayName("Should fail fast for a product ejected after consecutive failures without calling the API")
+    void shouldFailFastForEjectedProduct() throws Exception {
+        // Given
+        ProductApiClientReactive client = ejectingClient(2);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+
+        // When
+        assertThrows(ExternalApiException.class, () -> client.getProductById("1").block());
+        assertThrows(ExternalApiException.class, () -> client.getProductById("1").block());
+
+        // Then
+        assertThrows(OutlierEjectedException.class, () -> client.getProductById("1").block());
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+        assertThat(productFetchCount("ejected")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache a similar-products body while one of its products is ejected")
+    void shouldNotCacheBodyWhileProductIsEjected() throws Exception {
+        // Given
+        ProductApiClientReactive client = ejectingClient(1);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"id\":\"2\",\"name\":\"Product 2\",\"price\":10,\"availability\":true}")
+                .addHeader("Content-Type", "application/json"));
+        assertThrows(ExternalApiException.class, () -> client.getProductById("1").block());
+        AtomicInteger executions = new AtomicInteger();
+        SimilarProductsResponses responses = new SimilarProductsResponses(
+                new GetSimilarProductsUseCaseImpl(productId -> {
+                    executions.incrementAndGet();
+                    return Mono.just(List.of("1", "2"));
+                }, client),
+                new JacksonSimilarProductsJsonWriter(new ObjectMapper()),
+                new ReactiveCacheFactory(Caffeine::newBuilder, new CaffeineCacheManager(), meterRegistry));
+
         // When
-        Optional<ProductDetail> result = productApiClient.getProductById(productId);
+        SimilarProductsBody first = responses.get("10").block();
+        SimilarProductsBody second = responses.get("10").block();
+
+        // Then
+        assertThat(first.partial()).isTrue();
+        assertThat(first.etag()).isNull();
+        assertThat(second.partial()).isTrue();
+        assertThat(executions).hasValue(2);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should remember a 404 instead of calling the API again")
+    void shouldNegativelyCacheNotFound() {
+        // Given
+        String productId = "999";
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(404)
+                .addHeader("Content-Type", "application/json"));
+
+        // When
+        productApiClient.getProductById(productId).blockOptional();
+        Optional<ProductDetail> result = productApiClient.getProductById(productId).blockOptional();
 
         // Then
         assertThat(result).isEmpty();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache a transient failure")
+    void shouldNotCacheTransientFailure() {
+        // Given
+        String productId = "1";
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(500)
+                .addHeader("Content-Type", "application/json"));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("""
+                        {"id": "1", "name": "T-Shirt", "price": 15.99, "availability": true}
+                        """)
+                .addHeader("Content-Type", "application/json"));
+
+        // When
+        productApiClient.getProductById(productId).onErrorResume(ex -> Mono.empty()).block();
+        Optional<ProductDetail> result = productApiClient.getProductById(productId).blockOptional();
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should issue a single downstream call for concurrent requests of the same product")
+    void shouldMergeConcurrentRequestsForSameProduct() {
+        // Given
+        String productId = "1";
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("""
+                        {"id": "1", "name": "T-Shirt", "price": 15.99, "availability": true}
+                        """)
+                .addHeader("Content-Type", "application/json")
+                .setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+        // When
+        List<ProductDetail> results = Flux.range(0, 10)
+                .flatMap(i -> productApiClient.getProductById(productId))
+                .collectList()
+                .block();
+
+        // Then
+        assertThat(results).hasSize(10).allSatisfy(product -> assertThat(product.id()).isEqualTo("1"));
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should time product fetches by outcome")
+    void shouldTimeProductFetchesByOutcome() {
+        // Given
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("""
+                        {"id": "1", "name": "T-Shirt", "price": 15.99, "availability": true}
+                        """)
+                .addHeader("Content-Type", "application/json"));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(404)
+                .addHeader("Content-Type", "application/json"));
+
+        // When
+        productApiClient.getProductById("1").block();
+        productApiClient.getProductById("1").block();
+        productApiClient.getProductById("999").block();
+
+        // Then
+        assertThat(productFetchCount("miss")).isEqualTo(1);
+        assertThat(productFetchCount("hit")).isEqualTo(1);
+        assertThat(productFetchCount("404")).isEqualTo(1);
+        assertThat(productFetchCount("error")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should revalidate an entry due for refresh with a conditional GET")
+    void shouldRevalidateWithConditionalGet() throws Exception {
+        // Given
+        AtomicLong nanos = new AtomicLong();
+        try (H2cStandInServer server = new H2cStandInServer(Duration.ZERO)) {
+            ProductApiClientReactive client = new ProductApiClientReactive(WebClient.create(),
+                    new ReactiveCacheFactory(() -> Caffeine.newBuilder()
+                            .expireAfterWrite(Duration.ofMinutes(10))
+                            .refreshAfterWrite(Duration.ofMinutes(8))
+                            .ticker(nanos::get), new CaffeineCacheManager(), meterRegistry),
+                    RequestHedger.disabled(meterRegistry),
+                    new AdaptiveConcurrencyLimiter("productApi", new ConcurrencyLimitProperties(), meterRegistry),
+                    OutlierEjector.disabled(meterRegistry), new PipelineMetrics(meterRegistry));
+            var field = ProductApiClientReactive.class.getDeclaredField("baseUrl");
+            field.setAccessible(true);
+            field.set(client, server.baseUrl());
+            client.getProductById("1").block();
+            awaitWritten(client, "1");
+
+            // When
+            nanos.addAndGet(Duration.ofMinutes(9).toNanos());
+            client.getProductById("1").block();
+            awaitUntil(() -> server.notModified() == 1);
+            awaitWritten(client, "1");
+
+            server.withProductName("1", "Renamed");
+            nanos.addAndGet(Duration.ofMinutes(9).toNanos());
+            client.getProductById("1").block();
+            awaitUntil(() -> "Renamed".equals(client.getProductById("1").block().name()));
+
+            // Then
+            assertThat(server.requests()).isEqualTo(3);
+            assertThat(server.notModified()).isEqualTo(1);
+        }
+    }
+
+    private ProductApiClientReactive ejectingClient(int consecutiveFailures) throws Exception {
+        OutlierEjectionProperties properties = new OutlierEjectionProperties();
+        properties.setConsecutiveFailures(consecutiveFailures);
+        ProductApiClientReactive client = new ProductApiClientReactive(WebClient.create(),
+                new ReactiveCacheFactory(Caffeine::newBuilder, new CaffeineCacheManager(), meterRegistry),
+                RequestHedger.disabled(meterRegistry),
+                new AdaptiveConcurrencyLimiter("productApi", new ConcurrencyLimitProperties(), meterRegistry),
+                new OutlierEjector("productApi", properties, Clock.systemUTC(), meterRegistry),
+                new PipelineMetrics(meterRegistry));
+        var field = ProductApiClientReactive.class.getDeclaredField("baseUrl");
+        field.setAccessible(true);
+        field.set(client, baseUrl);
+        return client;
+    }
+
+    // block() can return before Caffeine stamps the write time of the completed load; moving the
+    // ticker in between would stamp it with the later time and no refresh would ever be due
+    private static void awaitWritten(ProductApiClientReactive client, String productId) throws Exception {
+        var field = ProductApiClientReactive.class.getDeclaredField("productDetailsCache");
+        field.setAccessible(true);
+        ReactiveCache<?> cache = (ReactiveCache<?>) field.get(client);
+        awaitUntil(() -> cache.getNativeCache().synchronous().policy().refreshAfterWrite()
+                .flatMap(refresh -> refresh.ageOf(productId))
+                .filter(age -> !age.isNegative())
+                .isPresent());
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private long productFetchCount(String outcome) {
+        return meterRegistry.get("product.fetch").tag("outcome", outcome).timer().count();
     }
 }
@@ -10,11 +10,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.test.backend.domain.exception.ExternalApiException;
 import com.test.backend.domain.exception.ProductNotFoundException;
+import com.test.backend.infrastructure.cache.ReactiveCacheFactory;
+import com.test.backend.infrastructure.metrics.PipelineMetrics;
+import com.test.backend.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import com.test.backend.infrastructure.resilience.ConcurrencyLimitProperties;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 
@@ -33,7 +40,11 @@ public class SimilarIdsApiClientReactiveTest {
         baseUrl = mockWebServer.url("/").toString().replaceAll("/$", "");
 
         WebClient webClient = WebClient.builder().baseUrl(baseUrl).build();
-        similarIdsApiClient = new SimilarIdsApiClientReactive(webClient);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        similarIdsApiClient = new SimilarIdsApiClientReactive(webClient,
+                new ReactiveCacheFactory(Caffeine::newBuilder, new CaffeineCacheManager(), meterRegistry),
+                new AdaptiveConcurrencyLimiter("similarIdsApi", new ConcurrencyLimitProperties(), meterRegistry),
+                new PipelineMetrics(meterRegistry));
 
         // Set the baseUrl via reflection since it's a @Value field
         var field = SimilarIdsApiClientReactive.class.getDeclaredField("baseUrl");
@@ -61,7 +72,7 @@ public class SimilarIdsApiClientReactiveTest {
                 .addHeader("Content-Type", "application/json"));
 
         // When
-        List<String> result = similarIdsApiClient.getSimilarProductIds(productId);
+        List<String> result = similarIdsApiClient.getSimilarProductIds(productId).block();
 
         // Then
         assertThat(result)
@@ -80,7 +91,7 @@ public class SimilarIdsApiClientReactiveTest {
 
         // When & Then
         assertThrows(ProductNotFoundException.class, () -> {
-            similarIdsApiClient.getSimilarProductIds(productId);
+            similarIdsApiClient.getSimilarProductIds(productId).block();
         });
     }
 
@@ -95,7 +106,7 @@ public class SimilarIdsApiClientReactiveTest {
 
         // When & Then
         assertThrows(ExternalApiException.class, () -> {
-            similarIdsApiClient.getSimilarProductIds(productId);
+            similarIdsApiClient.getSimilarProductIds(productId).block();
         });
     }
 
@@ -112,7 +123,7 @@ public class SimilarIdsApiClientReactiveTest {
                 .addHeader("Content-Type", "application/json"));
 
         // When
-        List<String> result = similarIdsApiClient.getSimilarProductIds(productId);
+        List<String> result = similarIdsApiClient.getSimilarProductIds(productId).block();
 
         // Then
         assertThat(result).isEmpty();
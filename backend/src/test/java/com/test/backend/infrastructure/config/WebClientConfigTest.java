@@ -0,0 +1,183 @@
+package com.test.backend.infrastructure.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.test.backend.infrastructure.dto.ProductResponse;
+import com.test.backend.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import com.test.backend.support.H2cStandInServer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.netty.resources.ConnectionProvider;
+
+@DisplayName("WebClient Config Test")
+public class WebClientConfigTest {
+
+    private static final int CONCURRENT_CALLS = 40;
+
+    private H2cStandInServer server;
+    private WebClientProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        server = new H2cStandInServer(Duration.ofMillis(100));
+        properties = new WebClientProperties();
+        properties.getHttp2().setMaxConnections(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Should multiplex concurrent calls over few connections with h2c prior knowledge")
+    void shouldMultiplexWithH2cPriorKnowledge() {
+        // Given
+        properties.setProtocol(WebClientProperties.Protocol.H2C_PRIOR_KNOWLEDGE);
+        WebClient webClient = new WebClientConfig().createWebClient("h2cPriorKnowledge", properties);
+
+        // When
+        List<ProductResponse> products = fetchConcurrently(webClient);
+
+        // Then
+        assertThat(products).hasSize(CONCURRENT_CALLS);
+        assertThat(server.protocols()).containsExactly("HTTP/2.0");
+        assertThat(server.connections()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should upgrade to HTTP/2 with h2c")
+    void shouldUpgradeWithH2c() {
+        // Given
+        properties.setProtocol(WebClientProperties.Protocol.H2C);
+        WebClient webClient = new WebClientConfig().createWebClient("h2c", properties);
+
+        // When
+        ProductResponse first = fetch(webClient, "1");
+        List<ProductResponse> products = fetchConcurrently(webClient);
+
+        // Then
+        assertThat(first.id()).isEqualTo("1");
+        assertThat(products).hasSize(CONCURRENT_CALLS);
+        assertThat(server.protocols()).contains("HTTP/2.0");
+    }
+
+    @Test
+    @DisplayName("Should open one connection per concurrent call with HTTP/1.1")
+    void shouldUseOneConnectionPerCallWithHttp11() {
+        // Given
+        WebClient webClient = new WebClientConfig().createWebClient("http11", properties);
+
+        // When
+        List<ProductResponse> products = fetchConcurrently(webClient);
+
+        // Then
+        assertThat(products).hasSize(CONCURRENT_CALLS);
+        assertThat(server.protocols()).containsExactly("HTTP/1.1");
+        assertThat(server.connections()).isGreaterThan(2);
+    }
+
+    @Test
+    @DisplayName("Should give each downstream its own connection pool and bulkhead with its own limits")
+    void shouldIsolatePoolsPerDownstream() {
+        contextRunner().run(context -> {
+            // Given
+            ConnectionProvider productApi = context.getBean("productApiConnectionProvider", ConnectionProvider.class);
+            ConnectionProvider similarIdsApi = context.getBean("similarIdsApiConnectionProvider",
+                    ConnectionProvider.class);
+
+            // When & Then
+            assertThat(productApi).isNotSameAs(similarIdsApi);
+            assertThat(productApi.name()).isEqualTo("productApi");
+            assertThat(productApi.maxConnections()).isEqualTo(30);
+            assertThat(similarIdsApi.name()).isEqualTo("similarIdsApi");
+            assertThat(similarIdsApi.maxConnections()).isEqualTo(7);
+            assertThat(context.getBean("productApiWebClient")).isNotSameAs(context.getBean("similarIdsApiWebClient"));
+            assertThat(context.getBean("productApiLimiter", AdaptiveConcurrencyLimiter.class).getLimit()).isEqualTo(12);
+            assertThat(context.getBean("similarIdsApiLimiter", AdaptiveConcurrencyLimiter.class).getLimit())
+                    .isEqualTo(8);
+        });
+    }
+
+    @Test
+    @DisplayName("Should publish the pool meters of each downstream under its own name")
+    void shouldPublishPoolMetersPerDownstream() {
+        // Reactor Netty registers pool meters in the global registry, which keeps no values on its own
+        SimpleMeterRegistry globalMeters = new SimpleMeterRegistry();
+        Metrics.addRegistry(globalMeters);
+        try {
+            contextRunner().run(context -> {
+                // Given
+                WebClient productApi = context.getBean("productApiWebClient", WebClient.class);
+                WebClient similarIdsApi = context.getBean("similarIdsApiWebClient", WebClient.class);
+
+                // When
+                fetch(productApi, "1");
+                fetch(similarIdsApi, "2");
+
+                // Then
+                assertThat(maxConnectionsMeters(globalMeters, "productApi")).contains(30.0).doesNotContain(7.0);
+                assertThat(maxConnectionsMeters(globalMeters, "similarIdsApi")).contains(7.0).doesNotContain(30.0);
+            });
+        } finally {
+            Metrics.removeRegistry(globalMeters);
+        }
+    }
+
+    private static ApplicationContextRunner contextRunner() {
+        return new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class))
+                .withUserConfiguration(WebClientConfig.class, ConcurrencyLimitConfig.class)
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withPropertyValues(
+                        "webclient.product-api.connection-pool.max-connections=30",
+                        "webclient.product-api.bulkhead.initial-limit=12",
+                        "webclient.similar-ids-api.connection-pool.max-connections=7",
+                        "webclient.similar-ids-api.bulkhead.initial-limit=8");
+    }
+
+    // Pools are only metered once they serve a call; pools of other tests in the same JVM may share
+    // the name, so every match is returned
+    private static List<Double> maxConnectionsMeters(MeterRegistry meterRegistry, String pool) {
+        return meterRegistry.find("reactor.netty.connection.provider.max.connections")
+                .tag("name", pool)
+                .gauges()
+                .stream()
+                .map(Gauge::value)
+                .toList();
+    }
+
+    private List<ProductResponse> fetchConcurrently(WebClient webClient) {
+        return Flux.range(0, CONCURRENT_CALLS)
+                .flatMap(i -> webClient.get()
+                        .uri(server.baseUrl() + "/product/{id}", i)
+                        .retrieve()
+                        .bodyToMono(ProductResponse.class))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+    }
+
+    private ProductResponse fetch(WebClient webClient, String productId) {
+        return webClient.get()
+                .uri(server.baseUrl() + "/product/{id}", productId)
+                .retrieve()
+                .bodyToMono(ProductResponse.class)
+                .block(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,119 @@
+package com.test.backend.infrastructure.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@DisplayName("Adaptive Concurrency Limiter Test")
+public class AdaptiveConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(2);
+        properties.setMinLimit(1);
+        properties.setMaxLimit(10);
+        properties.setMaxQueue(1);
+        properties.setMaxWait(Duration.ofMillis(200));
+    }
+
+    @Test
+    @DisplayName("Should reject fast when the limit and the queue are full")
+    void shouldRejectWhenQueueIsFull() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", properties, meterRegistry);
+        Sinks.One<String> pending = Sinks.one();
+        limiter.limit(pending::asMono).subscribe();
+        limiter.limit(pending::asMono).subscribe();
+        limiter.limit(pending::asMono).subscribe();
+
+        // When & Then
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.getQueued()).isEqualTo(1);
+        assertThrows(ConcurrencyLimitExceededException.class,
+                () -> limiter.limit(() -> Mono.just("rejected")).block());
+        assertThat(meterRegistry.get("concurrency.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should run a queued call once a permit is released")
+    void shouldRunQueuedCallWhenPermitReleased() throws Exception {
+        // Given
+        properties.setInitialLimit(1);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", properties, meterRegistry);
+        Sinks.One<String> pending = Sinks.one();
+        limiter.limit(pending::asMono).subscribe();
+        CompletableFuture<String> queued = limiter.limit(() -> Mono.just("queued")).toFuture();
+
+        // When
+        Mono.delay(Duration.ofMillis(50)).subscribe(tick -> pending.tryEmitValue("first"));
+        String result = queued.get(1, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(result).isEqualTo("queued");
+        assertThat(awaitInFlight(limiter, 0)).isZero();
+        assertThat(limiter.getQueued()).isZero();
+        assertThat(meterRegistry.get("concurrency.wait").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("concurrency.wait").timer().max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Should reject a queued call that waits longer than max-wait")
+    void shouldRejectQueuedCallAfterMaxWait() {
+        // Given
+        properties.setInitialLimit(1);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", properties, meterRegistry);
+        limiter.limit(() -> Sinks.<String>one().asMono()).subscribe();
+
+        // When & Then
+        assertThrows(ConcurrencyLimitExceededException.class,
+                () -> limiter.limit(() -> Mono.just("late")).block(Duration.ofSeconds(1)));
+        assertThat(limiter.getQueued()).isZero();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should grow the limit on fast calls and back off on failures")
+    void shouldAdaptLimitToOutcomes() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", properties, meterRegistry);
+
+        // When
+        limiter.limit(() -> Mono.just("fast")).block();
+        int grown = limiter.getLimit();
+        for (int i = 0; i < 5; i++) {
+            limiter.limit(() -> Mono.error(new IllegalStateException("downstream failure")))
+                    .onErrorResume(ex -> Mono.empty())
+                    .block();
+        }
+
+        // Then
+        assertThat(grown).isEqualTo(3);
+        assertThat(limiter.getLimit()).isLessThan(grown);
+        assertThat(awaitInFlight(limiter, 0)).isZero();
+    }
+
+    // Permits are released in doFinally, which runs after block() has already been handed the result
+    private static int awaitInFlight(AdaptiveConcurrencyLimiter limiter, int expected) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+        while (limiter.getInFlight() != expected && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        return limiter.getInFlight();
+    }
+}
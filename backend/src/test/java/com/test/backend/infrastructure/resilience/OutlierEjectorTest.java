@@ -0,0 +1,184 @@
+package com.test.backend.infrastructure.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+@DisplayName("Outlier Ejector Test")
+public class OutlierEjectorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutlierEjectionProperties properties;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new OutlierEjectionProperties();
+        properties.setConsecutiveFailures(2);
+        properties.setSlowCallThreshold(Duration.ofMillis(100));
+        properties.setEjectionTime(Duration.ofSeconds(30));
+        properties.setMaxEjectionTime(Duration.ofSeconds(45));
+        clock = new MutableClock();
+    }
+
+    @Test
+    @DisplayName("Should eject only the key with consecutive failures")
+    void shouldEjectFailingKey() {
+        // Given
+        OutlierEjector ejector = new OutlierEjector("test", properties, clock, meterRegistry);
+
+        // When
+        fail(ejector, "1");
+        fail(ejector, "1");
+        ejector.track("2", () -> Mono.just("ok")).block();
+
+        // Then
+        assertThat(ejector.isEjected("1")).isTrue();
+        assertThat(ejector.isEjected("2")).isFalse();
+        assertThat(ejector.ejectedKeys()).extracting(EjectedKey::key).containsExactly("1");
+        assertThat(meterRegistry.get("outlier.ejections").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("outlier.ejected").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reset the failure count after a successful call")
+    void shouldResetAfterSuccess() {
+        // Given
+        OutlierEjector ejector = new OutlierEjector("test", properties, clock, meterRegistry);
+
+        // When
+        fail(ejector, "1");
+        ejector.track("1", () -> Mono.just("ok")).block();
+        fail(ejector, "1");
+
+        // Then
+        assertThat(ejector.isEjected("1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should count calls slower than the threshold as failures")
+    void shouldEjectSlowKey() {
+        // Given
+        OutlierEjector ejector = new OutlierEjector("test", properties, clock, meterRegistry);
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            ejector.track("1", () -> Mono.just("slow").delayElement(Duration.ofMillis(150))).block();
+        }
+
+        // Then
+        assertThat(ejector.isEjected("1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not count concurrency limit rejections against the key")
+    void shouldIgnoreConcurrencyLimitRejections() {
+        // Given
+        OutlierEjector ejector = new OutlierEjector("test", properties, clock, meterRegistry);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ConcurrencyLimitExceededException.class, () -> ejector.track("1",
+                    () -> Mono.error(new ConcurrencyLimitExceededException("test"))).block());
+        }
+
+        // Then
+        assertThat(ejector.isEjected("1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should let the key back in after the ejection time and eject longer if the probe fails")
+    void shouldProbeAfterEjectionTime() {
+        // Given
+        OutlierEjector ejector = new OutlierEjector("test", properties, clock, meterRegistry);
+        fail(ejector, "1");
+        fail(ejector, "1");
+
+        // When
+        clock.advance(Duration.ofSeconds(31));
+        boolean ejectedAfterCooling = ejector.isEjected("1");
+        fail(ejector, "1");
+
+        // Then
+        assertThat(ejectedAfterCooling).isFalse();
+        assertThat(ejector.ejectedKeys()).singleElement().satisfies(entry -> {
+            assertThat(entry.ejections()).isEqualTo(2);
+            assertThat(entry.ejectedUntil()).isEqualTo(clock.instant().plus(Duration.ofSeconds(45)));
+        });
+    }
+
+    @Test
+    @DisplayName("Should not eject more keys than max-ejected")
+    void shouldCapEjectedKeys() {
+        // Given
+        properties.setMaxEjected(1);
+        OutlierEjector ejector = new OutlierEjector("test", properties, clock, meterRegistry);
+
+        // When
+        for (String key : new String[] { "1", "1", "2", "2" }) {
+            fail(ejector, key);
+        }
+
+        // Then
+        assertThat(ejector.isEjected("1")).isTrue();
+        assertThat(ejector.isEjected("2")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should never eject when disabled")
+    void shouldNotEjectWhenDisabled() {
+        // Given
+        OutlierEjector ejector = OutlierEjector.disabled(meterRegistry);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            fail(ejector, "1");
+        }
+
+        // Then
+        assertThat(ejector.isEjected("1")).isFalse();
+        assertThat(ejector.ejectedKeys()).isEmpty();
+    }
+
+    private static void fail(OutlierEjector ejector, String key) {
+        assertThrows(IllegalStateException.class,
+                () -> ejector.track(key, () -> Mono.error(new IllegalStateException("boom"))).block());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
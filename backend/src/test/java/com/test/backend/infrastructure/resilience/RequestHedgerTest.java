@@ -0,0 +1,136 @@
+package com.test.backend.infrastructure.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@DisplayName("Request Hedger Test")
+public class RequestHedgerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger attempts;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        attempts = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should answer with the hedge when the first attempt is slow")
+    void shouldAnswerWithHedgeWhenFirstAttemptIsSlow() {
+        // Given
+        RequestHedger hedger = hedger(1.0);
+
+        // When
+        String result = hedger.hedge(this::slowThenFast).block(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(result).isEqualTo("attempt-2");
+        assertThat(attempts).hasValue(2);
+        assertThat(hedgeCount("fired")).isEqualTo(1);
+        assertThat(hedgeCount("won")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should record the latency of a first attempt cancelled by its hedge")
+    void shouldRecordLatencyOfCancelledFirstAttempt() {
+        // Given
+        RequestHedger hedger = hedger(1.0);
+
+        // When
+        hedger.hedge(this::slowThenFast).block(Duration.ofSeconds(2));
+
+        // Then
+        Timer latency = meterRegistry.get("hedge.latency").timer();
+        assertThat(latency.count()).isEqualTo(2);
+        assertThat(latency.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should not count a hedge that completes empty as won")
+    void shouldNotCountEmptyHedgeAsWon() {
+        // Given
+        RequestHedger hedger = hedger(1.0);
+
+        // When
+        String result = hedger.hedge(() -> attempts.incrementAndGet() == 1
+                ? Mono.just("late").delayElement(Duration.ofMillis(500))
+                : Mono.<String>empty()).block(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(result).isNull();
+        assertThat(hedgeCount("fired")).isEqualTo(1);
+        assertThat(hedgeCount("won")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not hedge a call that answers before the hedge delay")
+    void shouldNotHedgeFastCall() {
+        // Given
+        RequestHedger hedger = hedger(1.0);
+
+        // When
+        String result = hedger.hedge(() -> Mono.just("fast")).block();
+
+        // Then
+        assertThat(result).isEqualTo("fast");
+        assertThat(hedgeCount("fired")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should stop hedging once the hedge budget is spent")
+    void shouldCapHedgeRate() {
+        // Given
+        RequestHedger hedger = hedger(0.0);
+
+        // When
+        Flux.range(0, 12)
+                .flatMap(i -> hedger.hedge(() -> Mono.just("slow").delayElement(Duration.ofMillis(150))))
+                .blockLast(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(hedgeCount("fired")).isEqualTo(10);
+        assertThat(hedgeCount("throttled")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should pass calls straight through when disabled")
+    void shouldPassThroughWhenDisabled() {
+        // Given
+        RequestHedger hedger = RequestHedger.disabled(meterRegistry);
+
+        // When
+        String result = hedger.hedge(this::slowThenFast).block(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(result).isEqualTo("attempt-1");
+        assertThat(attempts).hasValue(1);
+    }
+
+    private RequestHedger hedger(double maxHedgeRatio) {
+        return new RequestHedger("test", true, 0.95, Duration.ofMillis(10), Duration.ofMillis(50),
+                maxHedgeRatio, meterRegistry);
+    }
+
+    private Mono<String> slowThenFast() {
+        int attempt = attempts.incrementAndGet();
+        Mono<String> response = Mono.just("attempt-" + attempt);
+        return attempt == 1 ? response.delayElement(Duration.ofMillis(500)) : response;
+    }
+
+    private double hedgeCount(String result) {
+        return meterRegistry.get("hedge.requests").tag("result", result).counter().count();
+    }
+}
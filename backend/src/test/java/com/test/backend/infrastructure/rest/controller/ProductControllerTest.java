@@ -1,21 +1,33 @@
 package com.test.backend.infrastructure.rest.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -26,12 +38,24 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.test.backend.domain.model.ProductDetail;
+import com.test.backend.domain.model.SimilarProducts;
+import com.test.backend.domain.model.StreamedProduct;
 import com.test.backend.domain.port.input.GetSimilarProductsUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.test.backend.infrastructure.exception.GlobalExceptionHandler;
+import com.test.backend.infrastructure.rest.response.JacksonSimilarProductsJsonWriter;
+import com.test.backend.infrastructure.rest.response.ResponseCompression;
+import com.test.backend.infrastructure.rest.response.SimilarProductsETag;
+import com.test.backend.infrastructure.rest.response.SimilarProductsResponses;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @WebMvcTest(controllers = ProductController.class)
 @Import({ GlobalExceptionHandler.class })
@@ -52,6 +76,14 @@ public class ProductControllerTest {
                 public GetSimilarProductsUseCase getSimilarProductsUseCase() {
                         return mock(GetSimilarProductsUseCase.class);
                 }
+
+                @Bean
+                public SimilarProductsResponses similarProductsResponses(
+                                GetSimilarProductsUseCase getSimilarProductsUseCase, ObjectMapper objectMapper) {
+                        return new SimilarProductsResponses(getSimilarProductsUseCase,
+                                        new JacksonSimilarProductsJsonWriter(objectMapper),
+                                        new ResponseCompression(List.of(ResponseCompression.GZIP), 0), null);
+                }
         }
 
         @BeforeEach
@@ -72,11 +104,15 @@ public class ProductControllerTest {
                                                 .availability(true)
                                                 .build());
 
-                when(getSimilarProductsUseCase.execute(productId)).thenReturn(products);
+                when(getSimilarProductsUseCase.execute(productId)).thenReturn(Mono.just(SimilarProducts.complete(products)));
 
                 // When & Then
-                mockMvc.perform(get("/product/{productId}/similar", productId)
+                MvcResult mvcResult = mockMvc.perform(get("/product/{productId}/similar", productId)
                                 .accept(MediaType.APPLICATION_JSON))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(mvcResult))
                                 .andDo(print())
                                 .andExpect(status().isOk())
                                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -99,18 +135,233 @@ public class ProductControllerTest {
                 String productId = "1";
 
                 when(getSimilarProductsUseCase.execute(productId))
-                                .thenReturn(List.of());
+                                .thenReturn(Mono.just(SimilarProducts.complete(List.of())));
 
                 // When & Then
-                mockMvc.perform(get("/product/{productId}/similar", productId))
+                MvcResult mvcResult = mockMvc.perform(get("/product/{productId}/similar", productId))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(mvcResult))
                                 .andExpect(status().isOk())
                                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(header().doesNotExist(ProductController.PARTIAL_RESPONSE_HEADER))
                                 .andExpect(jsonPath("$", hasSize(0)));
 
                 // Verify
                 verify(getSimilarProductsUseCase, times(1)).execute(productId);
         }
 
+        @Test
+        @DisplayName("Should flag a partial result with a response header")
+        void shouldFlagPartialResult() throws Exception {
+                // Given
+                String productId = "1";
+                List<ProductDetail> products = List.of(
+                                ProductDetail.builder().id("2").name("Dress").price(BigDecimal.valueOf(19.99))
+                                                .availability(true)
+                                                .build());
+
+                when(getSimilarProductsUseCase.execute(productId))
+                                .thenReturn(Mono.just(SimilarProducts.partial(products)));
+
+                // When & Then
+                MvcResult mvcResult = mockMvc.perform(get("/product/{productId}/similar", productId))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(mvcResult))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(ProductController.PARTIAL_RESPONSE_HEADER, "true"))
+                                .andExpect(jsonPath("$", hasSize(1)))
+                                .andExpect(jsonPath("$[0].id", is("2")));
+        }
+
+        @Test
+        @DisplayName("Should tag a complete result with an ETag and no partial result")
+        void shouldTagCompleteResultWithETag() throws Exception {
+                // Given
+                String productId = "1";
+                List<ProductDetail> products = List.of(
+                                ProductDetail.builder().id("2").name("Dress").price(BigDecimal.valueOf(19.99))
+                                                .availability(true)
+                                                .build());
+
+                when(getSimilarProductsUseCase.execute(productId))
+                                .thenReturn(Mono.just(SimilarProducts.complete(products)))
+                                .thenReturn(Mono.just(SimilarProducts.partial(products)));
+
+                // When & Then
+                MvcResult complete = mockMvc.perform(get("/product/{productId}/similar", productId))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                mockMvc.perform(asyncDispatch(complete))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.ETAG,
+                                                "\"" + SimilarProductsETag.of(products) + "\""));
+
+                MvcResult partial = mockMvc.perform(get("/product/{productId}/similar", productId))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                mockMvc.perform(asyncDispatch(partial))
+                                .andExpect(status().isOk())
+                                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        }
+
+        @Test
+        @DisplayName("Should return 304 without a body when If-None-Match matches")
+        void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+                // Given
+                String productId = "1";
+                List<ProductDetail> products = List.of(
+                                ProductDetail.builder().id("2").name("Dress").price(BigDecimal.valueOf(19.99))
+                                                .availability(true)
+                                                .build());
+                String etag = "\"" + SimilarProductsETag.of(products) + "\"";
+
+                when(getSimilarProductsUseCase.execute(productId))
+                                .thenReturn(Mono.just(SimilarProducts.complete(products)));
+
+                // When & Then
+                MvcResult mvcResult = mockMvc.perform(get("/product/{productId}/similar", productId)
+                                .header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(mvcResult))
+                                .andExpect(status().isNotModified())
+                                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                                .andExpect(content().bytes(new byte[0]));
+        }
+
+        @Test
+        @DisplayName("Should return the full body when If-None-Match does not match")
+        void shouldReturnBodyWhenETagDiffers() throws Exception {
+                // Given
+                String productId = "1";
+                List<ProductDetail> products = List.of(
+                                ProductDetail.builder().id("2").name("Dress").price(BigDecimal.valueOf(19.99))
+                                                .availability(true)
+                                                .build());
+
+                when(getSimilarProductsUseCase.execute(productId))
+                                .thenReturn(Mono.just(SimilarProducts.complete(products)));
+
+                // When & Then
+                MvcResult mvcResult = mockMvc.perform(get("/product/{productId}/similar", productId)
+                                .header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(mvcResult))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$", hasSize(1)));
+        }
+
+        @Test
+        @DisplayName("Should serve the gzip variant when the client accepts it")
+        void shouldServeGzipVariant() throws Exception {
+                // Given
+                String productId = "1";
+                List<ProductDetail> products = List.of(
+                                ProductDetail.builder().id("2").name("Dress").price(BigDecimal.valueOf(19.99))
+                                                .availability(true)
+                                                .build());
+                String etag = "\"" + SimilarProductsETag.of(products) + "-gzip\"";
+
+                when(getSimilarProductsUseCase.execute(productId))
+                                .thenReturn(Mono.just(SimilarProducts.complete(products)));
+
+                // When & Then
+                MvcResult mvcResult = mockMvc.perform(get("/product/{productId}/similar", productId)
+                                .header(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8, br;q=0.5"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                byte[] compressed = mockMvc.perform(asyncDispatch(mvcResult))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                                .andReturn().getResponse().getContentAsByteArray();
+
+                try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+                        assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(
+                                        "[{\"id\":\"2\",\"name\":\"Dress\",\"price\":19.99,\"availability\":true}]");
+                }
+        }
+
+        @Test
+        @DisplayName("Should stream similar products as NDJSON in similarity order")
+        void shouldStreamSimilarProductsAsNdjson() throws Exception {
+                // Given
+                String productId = "1";
+
+                when(getSimilarProductsUseCase.stream(productId)).thenReturn(Flux.just(
+                                StreamedProduct.of(ProductDetail.builder().id("2").name("Dress")
+                                                .price(BigDecimal.valueOf(19.99))
+                                                .availability(true)
+                                                .build()),
+                                StreamedProduct.of(ProductDetail.builder().id("3").name("Shirt")
+                                                .price(BigDecimal.valueOf(29.99))
+                                                .availability(true)
+                                                .build())));
+
+                // When & Then
+                MvcResult mvcResult = mockMvc.perform(get("/product/{productId}/similar", productId)
+                                .accept(MediaType.APPLICATION_NDJSON))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(mvcResult))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                                .andExpect(content().string(
+                                                "{\"id\":\"2\",\"name\":\"Dress\",\"price\":19.99,\"availability\":true}\n"
+                                                                + "{\"id\":\"3\",\"name\":\"Shirt\",\"price\":29.99,\"availability\":true}\n"));
+
+                // Verify
+                verify(getSimilarProductsUseCase, never()).execute(productId);
+        }
+
+        @Test
+        @DisplayName("Should end a stream cut short by the latency budget with a partial marker")
+        void shouldEndPartialStreamWithMarker() throws Exception {
+                // Given
+                String productId = "1";
+
+                when(getSimilarProductsUseCase.stream(productId)).thenAnswer(invocation -> Flux.just(
+                                StreamedProduct.of(ProductDetail.builder().id("2").name("Dress")
+                                                .price(BigDecimal.valueOf(19.99))
+                                                .availability(true)
+                                                .build()),
+                                StreamedProduct.partialEnd()));
+
+                // When & Then
+                MvcResult ndjson = mockMvc.perform(get("/product/{productId}/similar", productId)
+                                .accept(MediaType.APPLICATION_NDJSON))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(ndjson))
+                                .andExpect(status().isOk())
+                                .andExpect(content().string(
+                                                "{\"id\":\"2\",\"name\":\"Dress\",\"price\":19.99,\"availability\":true}\n"
+                                                                + "{\"partial\":true}\n"));
+
+                MvcResult events = mockMvc.perform(get("/product/{productId}/similar", productId)
+                                .accept(MediaType.TEXT_EVENT_STREAM))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(events))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                                .andExpect(content().string(
+                                                "data:{\"id\":\"2\",\"name\":\"Dress\",\"price\":19.99,\"availability\":true}\n\n"
+                                                                + "event:partial\ndata:{\"partial\":true}\n\n"));
+        }
+
         @Test
         @DisplayName("Should return 500 when external service fails")
         void shouldReturn500WhenExternalServiceFails() throws Exception {
@@ -118,10 +369,14 @@ public class ProductControllerTest {
                 String productId = "999";
 
                 when(getSimilarProductsUseCase.execute(productId))
-                                .thenThrow(new RuntimeException("Service unavailable"));
+                                .thenReturn(Mono.error(new RuntimeException("Service unavailable")));
 
                 // When & Then
-                mockMvc.perform(get("/product/{productId}/similar", productId))
+                MvcResult mvcResult = mockMvc.perform(get("/product/{productId}/similar", productId))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(mvcResult))
                                 .andExpect(status().isInternalServerError())
                                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                                 .andExpect(jsonPath("$.code", is("Internal Server Error")))
@@ -138,10 +393,14 @@ public class ProductControllerTest {
                 // Given
                 String productId = "1";
                 when(getSimilarProductsUseCase.execute(productId))
-                                .thenThrow(new RuntimeException("Unexpected error"));
+                                .thenReturn(Mono.error(new RuntimeException("Unexpected error")));
 
                 // When & Then
-                mockMvc.perform(get("/product/{productId}/similar", productId))
+                MvcResult mvcResult = mockMvc.perform(get("/product/{productId}/similar", productId))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(mvcResult))
                                 .andExpect(status().isInternalServerError())
                                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                                 .andExpect(jsonPath("$.code", is("Internal Server Error")))
@@ -162,4 +421,46 @@ public class ProductControllerTest {
                                 .andExpect(jsonPath("$.code", is("Bad Request")))
                                 .andExpect(jsonPath("$.status", is(400)));
         }
+
+        @Test
+        @DisplayName("Should return similar products for a batch keyed by source product")
+        void shouldReturnSimilarProductsForBatch() throws Exception {
+                // Given
+                ProductDetail dress = ProductDetail.builder().id("2").name("Dress").price(BigDecimal.valueOf(19.99))
+                                .availability(true)
+                                .build();
+                Map<String, SimilarProducts> results = new LinkedHashMap<>();
+                results.put("1", SimilarProducts.complete(List.of(dress)));
+                results.put("4", SimilarProducts.partial(List.of()));
+
+                when(getSimilarProductsUseCase.executeBatch(List.of("1", "4"))).thenReturn(Mono.just(results));
+
+                // When & Then
+                MvcResult mvcResult = mockMvc.perform(post("/product/similar:batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"productIds\":[\"1\",\"4\"]}"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(mvcResult))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.1.products", hasSize(1)))
+                                .andExpect(jsonPath("$.1.products[0].id", is("2")))
+                                .andExpect(jsonPath("$.1.partial", is(false)))
+                                .andExpect(jsonPath("$.4.products", hasSize(0)))
+                                .andExpect(jsonPath("$.4.partial", is(true)));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for an empty batch")
+        void shouldReturn400ForEmptyBatch() throws Exception {
+                // When & Then
+                mockMvc.perform(post("/product/similar:batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"productIds\":[]}"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.status", is(400)));
+
+                verify(getSimilarProductsUseCase, never()).executeBatch(anyList());
+        }
 }
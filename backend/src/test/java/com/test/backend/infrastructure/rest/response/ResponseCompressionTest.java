@@ -0,0 +1,84 @@
+package com.test.backend.infrastructure.rest.response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+@DisplayName("Response Compression Test")
+public class ResponseCompressionTest {
+
+    private static final byte[] BODY = "[{\"id\":\"2\",\"name\":\"Dress\",\"price\":19.99,\"availability\":true}]"
+            .repeat(10).getBytes(StandardCharsets.UTF_8);
+    private static final Set<String> AVAILABLE = new LinkedHashSet<>(
+            List.of(ResponseCompression.GZIP, ResponseCompression.DEFLATE));
+
+    @Test
+    @DisplayName("Should make a gzip and a deflate variant that decompress to the body")
+    void shouldCompressEveryEncoding() throws IOException {
+        // Given
+        ResponseCompression compression = new ResponseCompression(
+                List.of(ResponseCompression.GZIP, ResponseCompression.DEFLATE), 0);
+
+        // When
+        Map<String, byte[]> variants = compression.compress(BODY);
+
+        // Then
+        assertThat(variants).containsOnlyKeys(ResponseCompression.GZIP, ResponseCompression.DEFLATE);
+        assertThat(variants.get(ResponseCompression.GZIP)).hasSizeLessThan(BODY.length);
+        assertThat(inflate(new GZIPInputStream(new ByteArrayInputStream(variants.get(ResponseCompression.GZIP)))))
+                .isEqualTo(BODY);
+        assertThat(inflate(new InflaterInputStream(new ByteArrayInputStream(variants.get(ResponseCompression.DEFLATE)))))
+                .isEqualTo(BODY);
+    }
+
+    @Test
+    @DisplayName("Should leave bodies under the minimum size uncompressed")
+    void shouldSkipSmallBodies() {
+        // Given
+        ResponseCompression compression = new ResponseCompression(List.of(ResponseCompression.GZIP),
+                BODY.length + 1);
+
+        // When & Then
+        assertThat(compression.compress(BODY)).isEmpty();
+        assertThat(ResponseCompression.none().compress(BODY)).isEmpty();
+    }
+
+    @ParameterizedTest(name = "Accept-Encoding \"{0}\" -> {1}")
+    @CsvSource(delimiter = '|', nullValues = "none", value = {
+            "none | none",
+            "gzip | gzip",
+            "deflate, gzip | gzip",
+            "gzip;q=0.5, deflate | deflate",
+            "GZIP ; Q=0.9 | gzip",
+            "identity;q=0.5, gzip;q=0.5 | gzip",
+            "br | none",
+            "* | gzip",
+            "*, gzip;q=0 | deflate",
+            "gzip;q=0 | none",
+            "gzip;q=0.5, identity | none",
+            "gzip;q=invalid | none" })
+    @DisplayName("Should pick the available coding the client prefers")
+    void shouldNegotiateEncoding(String acceptEncoding, String expected) {
+        assertThat(ResponseCompression.negotiate(acceptEncoding, AVAILABLE)).isEqualTo(expected);
+    }
+
+    private static byte[] inflate(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+}
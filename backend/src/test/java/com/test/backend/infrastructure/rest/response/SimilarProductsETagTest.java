@@ -0,0 +1,53 @@
+package com.test.backend.infrastructure.rest.response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.test.backend.domain.model.ProductDetail;
+
+@DisplayName("Similar Products ETag Test")
+public class SimilarProductsETagTest {
+
+    private static final ProductDetail DRESS = product("2", "Dress", "19.99", true);
+    private static final ProductDetail SHIRT = product("3", "Shirt", "29.99", true);
+
+    @Test
+    @DisplayName("Should compute the same tag for equal lists")
+    void shouldBeStableForEqualLists() {
+        assertThat(SimilarProductsETag.of(List.of(DRESS, SHIRT)))
+                .isEqualTo(SimilarProductsETag.of(List.of(product("2", "Dress", "19.99", true),
+                        product("3", "Shirt", "29.99", true))));
+    }
+
+    @Test
+    @DisplayName("Should change when the order, a price, the availability or a name changes")
+    void shouldChangeWithTheBody() {
+        String etag = SimilarProductsETag.of(List.of(DRESS, SHIRT));
+
+        assertThat(List.of(
+                SimilarProductsETag.of(List.of(SHIRT, DRESS)),
+                SimilarProductsETag.of(List.of(DRESS, product("3", "Shirt", "29.90", true))),
+                SimilarProductsETag.of(List.of(DRESS, product("3", "Shirt", "29.99", false))),
+                SimilarProductsETag.of(List.of(DRESS, product("3", "Shirts", "29.99", true))),
+                SimilarProductsETag.of(List.of(DRESS))))
+                .doesNotContain(etag)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should not confuse where one field ends and the next begins")
+    void shouldSeparateFields() {
+        assertThat(SimilarProductsETag.of(List.of(product("12", "3", "1", true))))
+                .isNotEqualTo(SimilarProductsETag.of(List.of(product("1", "23", "1", true))));
+    }
+
+    private static ProductDetail product(String id, String name, String price, boolean availability) {
+        return ProductDetail.builder().id(id).name(name).price(new BigDecimal(price)).availability(availability)
+                .build();
+    }
+}
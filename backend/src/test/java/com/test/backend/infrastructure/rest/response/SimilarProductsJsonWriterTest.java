@@ -0,0 +1,77 @@
+package com.test.backend.infrastructure.rest.response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.test.backend.domain.model.ProductDetail;
+
+@DisplayName("Similar Products JSON Writer Test")
+public class SimilarProductsJsonWriterTest {
+
+    static Stream<Arguments> products() {
+        return Stream.of(
+                Arguments.of("no products", List.of()),
+                Arguments.of("one product", List.of(product("1", "Shirt", new BigDecimal("9.99"), true))),
+                Arguments.of("several products", List.of(
+                        product("2", "Dress", new BigDecimal("19.99"), true),
+                        product("3", "Blazer", new BigDecimal("29.90"), false),
+                        product("4", "Boots", BigDecimal.TEN, true))),
+                Arguments.of("characters that need escaping", List.of(
+                        product("5", "\"Quoted\" \\ back/slash\ttab\nline", BigDecimal.ONE, true),
+                        product("6", "Camiseta ñandú é€ 👕 \u0001", BigDecimal.ZERO, false))),
+                Arguments.of("unusual prices", List.of(
+                        product("7", "Scaled", new BigDecimal("1E+3"), true),
+                        product("8", "Tiny", new BigDecimal("0.000000001"), true),
+                        product("9", "Huge", new BigDecimal("123456789012345678901234567890.5"), true))),
+                Arguments.of("non numeric id", List.of(product("sku-10", "Socks", new BigDecimal("3.5"), true))));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("products")
+    @DisplayName("Should write the same bytes as Jackson with a default ObjectMapper")
+    void shouldMatchJacksonWithDefaultMapper(String description, List<ProductDetail> products) {
+        assertSameBytes(new ObjectMapper(), products);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("products")
+    @DisplayName("Should write the same bytes as Jackson with the Spring ObjectMapper")
+    void shouldMatchJacksonWithSpringMapper(String description, List<ProductDetail> products) {
+        assertSameBytes(Jackson2ObjectMapperBuilder.json().build(), products);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("products")
+    @DisplayName("Should honour the output features of the ObjectMapper")
+    void shouldMatchJacksonWithCustomizedMapper(String description, List<ProductDetail> products) {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToEnable(SerializationFeature.INDENT_OUTPUT, JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN)
+                .build();
+
+        assertSameBytes(objectMapper, products);
+    }
+
+    private static void assertSameBytes(ObjectMapper objectMapper, List<ProductDetail> products) {
+        byte[] expected = new JacksonSimilarProductsJsonWriter(objectMapper).write(products);
+
+        byte[] actual = new StreamingSimilarProductsJsonWriter(objectMapper).write(products);
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    private static ProductDetail product(String id, String name, BigDecimal price, boolean availability) {
+        return ProductDetail.builder().id(id).name(name).price(price).availability(availability).build();
+    }
+}
@@ -0,0 +1,189 @@
+package com.test.backend.infrastructure.rest.response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.backend.application.usecases.GetSimilarProductsUseCaseImpl;
+import com.test.backend.domain.exception.ExternalApiException;
+import com.test.backend.domain.model.ProductDetail;
+import com.test.backend.domain.model.SimilarProducts;
+import com.test.backend.domain.port.input.GetSimilarProductsUseCase;
+import com.test.backend.domain.port.output.ProductPort;
+import com.test.backend.infrastructure.cache.ReactiveCache;
+import com.test.backend.infrastructure.cache.ReactiveCacheFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@DisplayName("Similar Products Responses Test")
+public class SimilarProductsResponsesTest {
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private final Map<String, BigDecimal> prices = new ConcurrentHashMap<>();
+    private Sinks.Empty<Void> gate;
+    private ReactiveCache<List<String>> similarIdsCache;
+    private ReactiveCache<ProductDetail> productDetailsCache;
+    private ReactiveCacheFactory cacheFactory;
+    private SimilarProductsResponses responses;
+
+    @BeforeEach
+    void setUp() {
+        // Removal listeners run on the calling thread so invalidations are visible right away
+        cacheFactory = new ReactiveCacheFactory(
+                () -> Caffeine.newBuilder().executor(Runnable::run), new CaffeineCacheManager(),
+                new SimpleMeterRegistry());
+        similarIdsCache = cacheFactory.create("similarIds", productId -> Mono.just(List.of("2", "3")));
+        productDetailsCache = cacheFactory.create("productDetails", productId -> Mono.just(ProductDetail.builder()
+                .id(productId)
+                .name("Product " + productId)
+                .price(prices.getOrDefault(productId, BigDecimal.TEN))
+                .availability(true)
+                .build()));
+        gate = Sinks.empty();
+        gate.tryEmitEmpty();
+
+        GetSimilarProductsUseCase useCase = mock(GetSimilarProductsUseCase.class);
+        when(useCase.execute(anyString())).thenAnswer(invocation -> {
+            String productId = invocation.getArgument(0);
+            return Mono.defer(() -> {
+                executions.incrementAndGet();
+                return gate.asMono().then(similarIdsCache.get(productId))
+                        .flatMapMany(Flux::fromIterable)
+                        .concatMap(productDetailsCache::get)
+                        .collectList()
+                        .map(SimilarProducts::complete);
+            });
+        });
+        responses = new SimilarProductsResponses(useCase, new JacksonSimilarProductsJsonWriter(new ObjectMapper()),
+                cacheFactory);
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated request from the cached body")
+    void shouldServeRepeatedRequestFromCache() {
+        // Given
+        SimilarProductsBody first = responses.get("1").block();
+
+        // When
+        SimilarProductsBody second = responses.get("1").block();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(new String(second.json(), StandardCharsets.UTF_8)).isEqualTo(
+                "[{\"id\":\"2\",\"name\":\"Product 2\",\"price\":10,\"availability\":true},"
+                        + "{\"id\":\"3\",\"name\":\"Product 3\",\"price\":10,\"availability\":true}]");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should share one computation between concurrent identical requests")
+    void shouldMergeConcurrentRequests() {
+        // Given
+        gate = Sinks.empty();
+        List<CompletableFuture<SimilarProductsBody>> callers = IntStream.range(0, 3)
+                .mapToObj(i -> responses.get("1").toFuture())
+                .toList();
+
+        // When
+        gate.tryEmitEmpty();
+
+        // Then
+        assertThat(callers).allSatisfy(caller -> assertThat(caller.join().json()).isNotEmpty());
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the body once a product it was built from changes")
+    void shouldRebuildWhenProductChanges() {
+        // Given
+        responses.get("1").block();
+        prices.put("3", BigDecimal.ONE);
+
+        // When
+        productDetailsCache.invalidate("3");
+        SimilarProductsBody body = responses.get("1").block();
+
+        // Then
+        assertThat(new String(body.json(), StandardCharsets.UTF_8)).contains("\"id\":\"3\",\"name\":\"Product 3\",\"price\":1,");
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the body once the similar IDs it was built from change")
+    void shouldRebuildWhenSimilarIdsChange() {
+        // Given
+        responses.get("1").block();
+
+        // When
+        similarIdsCache.invalidate("1");
+        responses.get("1").block();
+
+        // Then
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should keep bodies that do not depend on the changed entry")
+    void shouldKeepUnrelatedBodies() {
+        // Given
+        responses.get("1").block();
+
+        // When
+        similarIdsCache.invalidate("4");
+        responses.get("1").block();
+
+        // Then
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache or tag a body built while a product fetch failed")
+    void shouldNotCacheBodyWithFailedProduct() {
+        // Given
+        AtomicInteger productCalls = new AtomicInteger();
+        ProductPort productPort = mock(ProductPort.class);
+        when(productPort.getProductById(anyString())).thenAnswer(invocation -> {
+            String productId = invocation.getArgument(0);
+            if (productId.equals("3") && productCalls.incrementAndGet() == 1) {
+                return Mono.error(new ExternalApiException("Product API is unavailable for product: 3"));
+            }
+            return productDetailsCache.get(productId);
+        });
+        SimilarProductsResponses failingOnce = new SimilarProductsResponses(
+                new GetSimilarProductsUseCaseImpl(similarIdsCache::get, productPort),
+                new JacksonSimilarProductsJsonWriter(new ObjectMapper()), cacheFactory);
+
+        // When
+        SimilarProductsBody first = failingOnce.get("1").block();
+        SimilarProductsBody second = failingOnce.get("1").block();
+
+        // Then
+        assertThat(first.partial()).isTrue();
+        assertThat(first.etag()).isNull();
+        assertThat(new String(first.json(), StandardCharsets.UTF_8)).doesNotContain("\"id\":\"3\"");
+        assertThat(second.partial()).isFalse();
+        assertThat(second.etag()).isNotNull();
+        assertThat(new String(second.json(), StandardCharsets.UTF_8)).contains("\"id\":\"3\"");
+        assertThat(failingOnce.get("1").block()).isSameAs(second);
+    }
+}
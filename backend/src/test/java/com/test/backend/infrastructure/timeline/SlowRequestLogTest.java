@@ -0,0 +1,84 @@
+package com.test.backend.infrastructure.timeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.test.backend.infrastructure.metrics.FetchOutcome;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Slow Request Log Test")
+public class SlowRequestLogTest {
+
+    private SlowRequestProperties properties;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SlowRequestProperties();
+        properties.setThreshold(Duration.ZERO);
+        properties.setCapacity(2);
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    }
+
+    @Test
+    @DisplayName("Should keep only the most recent slow requests")
+    void shouldKeepMostRecentSlowRequests() {
+        // Given
+        SlowRequestLog log = new SlowRequestLog(properties, circuitBreakerRegistry, new SimpleMeterRegistry());
+
+        // When
+        for (String path : new String[] { "/product/1/similar", "/product/2/similar", "/product/3/similar" }) {
+            log.complete(log.start(path), 200);
+        }
+
+        // Then
+        assertThat(log.recent())
+                .extracting(SlowRequest::path)
+                .containsExactly("/product/3/similar", "/product/2/similar");
+    }
+
+    @Test
+    @DisplayName("Should drop requests under the threshold")
+    void shouldDropFastRequests() {
+        // Given
+        properties.setThreshold(Duration.ofMinutes(1));
+        SlowRequestLog log = new SlowRequestLog(properties, circuitBreakerRegistry, new SimpleMeterRegistry());
+
+        // When
+        log.complete(log.start("/product/1/similar"), 200);
+
+        // Then
+        assertThat(log.recent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should record each fetch with its offsets and the circuit breaker state")
+    void shouldRecordFetchEvents() {
+        // Given
+        circuitBreakerRegistry.circuitBreaker("productApi").transitionToOpenState();
+        SlowRequestLog log = new SlowRequestLog(properties, circuitBreakerRegistry, new SimpleMeterRegistry());
+        RequestTimeline timeline = log.start("/product/1/similar");
+
+        // When
+        timeline.record("product", "2", "productApi", FetchOutcome.FALLBACK, System.nanoTime());
+        timeline.addBytesWritten(42);
+        log.complete(timeline, 200);
+
+        // Then
+        SlowRequest slowRequest = log.recent().getFirst();
+        assertThat(slowRequest.bytesWritten()).isEqualTo(42);
+        assertThat(slowRequest.events()).singleElement().satisfies(event -> {
+            assertThat(event.key()).isEqualTo("2");
+            assertThat(event.outcome()).isEqualTo("fallback");
+            assertThat(event.circuitBreakerState()).isEqualTo("OPEN");
+            assertThat(event.endOffsetMicros()).isGreaterThanOrEqualTo(event.startOffsetMicros());
+        });
+    }
+}
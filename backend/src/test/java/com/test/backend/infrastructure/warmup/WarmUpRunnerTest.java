@@ -0,0 +1,115 @@
+package com.test.backend.infrastructure.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.backend.domain.model.SimilarProducts;
+import com.test.backend.domain.mother.ProductMother;
+import com.test.backend.domain.port.input.GetSimilarProductsUseCase;
+import com.test.backend.domain.port.output.ProductPort;
+import com.test.backend.domain.port.output.SimilarIdsPort;
+import com.test.backend.infrastructure.rest.controller.ProductController;
+import com.test.backend.infrastructure.rest.response.JacksonSimilarProductsJsonWriter;
+import com.test.backend.infrastructure.rest.response.SimilarProductsResponses;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Warm-Up Runner Test")
+public class WarmUpRunnerTest {
+
+    @Mock
+    private ProductPort productPort;
+
+    @Mock
+    private SimilarIdsPort similarIdsPort;
+
+    @Mock
+    private GetSimilarProductsUseCase getSimilarProductsUseCase;
+
+    private final AtomicInteger downstreamRequests = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private WarmUpProperties properties;
+    private WebClient webClient;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WarmUpProperties();
+        properties.setEnabled(true);
+        properties.setHotProductIds(List.of("1"));
+        properties.setConnections(3);
+        properties.setIterations(10);
+        webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    downstreamRequests.incrementAndGet();
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                })
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should open connections, preload hot products and drive synthetic requests")
+    void shouldRunEveryWarmUpStep() {
+        // Given
+        when(similarIdsPort.getSimilarProductIds("1")).thenReturn(Mono.just(List.of("2", "3")));
+        when(productPort.getProductById(anyString()))
+                .thenAnswer(invocation -> Mono.just(ProductMother.withId(invocation.getArgument(0), true)));
+        when(getSimilarProductsUseCase.execute("1"))
+                .thenReturn(Mono.just(SimilarProducts.complete(List.of(ProductMother.withId("2", true)))));
+
+        // When
+        runner().run(new DefaultApplicationArguments());
+
+        // Then
+        assertThat(downstreamRequests).hasValue(6);
+        verify(productPort).getProductById("1");
+        verify(productPort).getProductById("2");
+        verify(productPort).getProductById("3");
+        verify(getSimilarProductsUseCase, times(20)).execute("1");
+        assertThat(meterRegistry.get("warmup.step").timers())
+                .extracting(timer -> timer.getId().getTag("step"))
+                .containsExactlyInAnyOrder("connections", "preload", "use-case", "controller");
+    }
+
+    @Test
+    @DisplayName("Should skip the warm-up when it is disabled")
+    void shouldSkipWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        runner().run(new DefaultApplicationArguments());
+
+        // Then
+        assertThat(downstreamRequests).hasValue(0);
+        verify(getSimilarProductsUseCase, never()).execute(anyString());
+    }
+
+    private WarmUpRunner runner() {
+        return new WarmUpRunner(properties, webClient, webClient, "http://localhost", productPort, similarIdsPort,
+                getSimilarProductsUseCase, new ProductController(getSimilarProductsUseCase,
+                        new SimilarProductsResponses(getSimilarProductsUseCase,
+                                new JacksonSimilarProductsJsonWriter(new ObjectMapper()))),
+                meterRegistry);
+    }
+}
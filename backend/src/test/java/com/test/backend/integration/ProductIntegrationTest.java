@@ -5,6 +5,8 @@ import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
@@ -56,6 +58,7 @@ public class ProductIntegrationTest {
         static void overrideProperties(DynamicPropertyRegistry registry) {
                 registry.add("api.product.base-url",
                                 () -> "http://localhost:" + wireMockPort);
+                registry.add("similar-products.slow-requests.threshold", () -> "300ms");
         }
 
         @BeforeEach
@@ -257,4 +260,38 @@ public class ProductIntegrationTest {
                                 .statusCode(503)
                                 .contentType(ContentType.JSON);
         }
+
+        @Test
+        @Order(6)
+        @DisplayName("Case 6: Slow request - should expose its timeline on the actuator")
+        void shouldExposeSlowRequestTimeline() {
+                stubFor(get(urlEqualTo("/product/60/similarids"))
+                                .willReturn(aResponse()
+                                                .withStatus(200)
+                                                .withHeader("Content-Type", "application/json")
+                                                .withBody("[\"61\"]")));
+                stubFor(get(urlEqualTo("/product/61"))
+                                .willReturn(aResponse()
+                                                .withStatus(200)
+                                                .withHeader("Content-Type", "application/json")
+                                                .withFixedDelay(400)
+                                                .withBody("""
+                                                                {"id": "61", "name": "Coat", "price": 99.99, "availability": true}
+                                                                """)));
+
+                given().when().get("/product/60/similar").then().statusCode(200);
+
+                given()
+                                .when()
+                                .get("/actuator/slowrequests")
+                                .then()
+                                .statusCode(200)
+                                .body("find { it.path == '/product/60/similar' }.status", equalTo(200))
+                                .body("find { it.path == '/product/60/similar' }.bytesWritten", greaterThan(0))
+                                .body("find { it.path == '/product/60/similar' }.events.stage",
+                                                contains("similarIds", "product"))
+                                .body("find { it.path == '/product/60/similar' }.events[1].outcome", equalTo("miss"))
+                                .body("find { it.path == '/product/60/similar' }.events[1].circuitBreakerState",
+                                                equalTo("CLOSED"));
+        }
 }
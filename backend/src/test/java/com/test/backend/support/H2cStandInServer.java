@@ -0,0 +1,122 @@
+package com.test.backend.support;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.reactivestreams.Publisher;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+// Local stand-in for the product APIs speaking h2c (upgrade and prior knowledge) and HTTP/1.1.
+// Every product exists, is available and answers after the configured delay; it counts the TCP
+// connections it accepts and the protocol versions it sees so tests and benchmarks can check
+// how the client multiplexes its calls. Every body carries an ETag derived from its content and
+// a Last-Modified of the server start; a request whose If-None-Match matches gets a 304.
+public class H2cStandInServer implements AutoCloseable {
+
+    private final Duration delay;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private final String lastModified = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now());
+    private final Set<String> protocols = ConcurrentHashMap.newKeySet();
+    private final Map<String, List<String>> similarIds = new ConcurrentHashMap<>();
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+    private final DisposableServer server;
+
+    public H2cStandInServer(Duration delay) {
+        this.delay = delay;
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .protocol(HttpProtocol.H2C, HttpProtocol.HTTP11)
+                .doOnChannelInit((observer, channel, address) -> connections.incrementAndGet())
+                .route(routes -> routes
+                        .get("/product/{id}/similarids", (request, response) -> {
+                            track(request.version().text());
+                            String ids = similarIds.getOrDefault(request.param("id"), List.of()).stream()
+                                    .map(id -> "\"" + id + "\"")
+                                    .reduce((a, b) -> a + "," + b)
+                                    .orElse("");
+                            return send(request, response, "[" + ids + "]");
+                        })
+                        .get("/product/{id}", (request, response) -> {
+                            track(request.version().text());
+                            String id = request.param("id");
+                            if (id.startsWith("missing")) {
+                                return response.status(HttpResponseStatus.NOT_FOUND).send();
+                            }
+                            String body = "{\"id\":\"" + id + "\",\"name\":\""
+                                    + names.getOrDefault(id, "Product " + id)
+                                    + "\",\"price\":9.99,\"availability\":true}";
+                            return send(request, response, body);
+                        }))
+                .bindNow();
+    }
+
+    public H2cStandInServer withSimilarIds(String productId, List<String> ids) {
+        similarIds.put(productId, ids);
+        return this;
+    }
+
+    public H2cStandInServer withProductName(String productId, String name) {
+        names.put(productId, name);
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    public int connections() {
+        return connections.get();
+    }
+
+    public int requests() {
+        return requests.get();
+    }
+
+    public int notModified() {
+        return notModified.get();
+    }
+
+    public Set<String> protocols() {
+        return protocols;
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Publisher<Void> send(HttpServerRequest request, HttpServerResponse response, String body) {
+        String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+        response.header(HttpHeaderNames.ETAG, etag)
+                .header(HttpHeaderNames.LAST_MODIFIED, lastModified);
+        if (etag.equals(request.requestHeaders().get(HttpHeaderNames.IF_NONE_MATCH))) {
+            notModified.incrementAndGet();
+            return response.status(HttpResponseStatus.NOT_MODIFIED)
+                    .sendString(Mono.<String>empty().delaySubscription(this.delay));
+        }
+        return response.header("Content-Type", "application/json")
+                .sendString(Mono.just(body).delayElement(this.delay));
+    }
+
+    private void track(String protocol) {
+        requests.incrementAndGet();
+        protocols.add(protocol);
+    }
+}